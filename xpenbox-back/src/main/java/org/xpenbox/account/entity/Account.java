@@ -3,29 +3,40 @@ package org.xpenbox.account.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.xpenbox.common.repository.Tsid;
 import org.xpenbox.user.entity.User;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Account entity representing the account table in the database.
+ * The balance is changed with conditional bulk updates in AccountRepository and the usage counters with relative
+ * updates in UsageCounterRepository, so only modified columns are written when the entity is flushed, to never
+ * overwrite them with stale values.
+ * The entity is not kept in the second-level cache: every balance update would invalidate the whole region.
  */
 @Entity
+@NaturalIdCache
+@DynamicUpdate
 @Table(name = "tbl_account")
 public class Account extends PanacheEntityBase {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
+    @NaturalId
     @Column(name = "resource_code", nullable = false, unique = true, length = 100)
     private String resourceCode;
 
@@ -50,9 +61,14 @@ public class Account extends PanacheEntityBase {
     @Column(name = "closing_date", nullable = true)
     private LocalDateTime closingDate;
 
-    @ManyToOne
+    @NaturalId
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
     
     public String getResourceCode() {
         return resourceCode;
@@ -125,4 +141,12 @@ public class Account extends PanacheEntityBase {
     public void setUser(User user) {
         this.user = user;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
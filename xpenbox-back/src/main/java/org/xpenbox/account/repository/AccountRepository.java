@@ -1,7 +1,12 @@
 package org.xpenbox.account.repository;
 
+import java.math.BigDecimal;
+
+import org.jboss.logging.Logger;
 import org.xpenbox.account.entity.Account;
 import org.xpenbox.common.repository.GenericRepository;
+
+import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
 
 /**
@@ -9,4 +14,57 @@ import jakarta.enterprise.context.ApplicationScoped;
  */
 @ApplicationScoped
 public class AccountRepository extends GenericRepository<Account> {
+    private static final Logger LOG = Logger.getLogger(AccountRepository.class);
+
+    /**
+     * Subtracts an amount from the balance of an active account in a single statement, only if the balance covers it.
+     * @param id the ID of the account
+     * @param amount the amount to subtract
+     * @return the number of updated rows, 0 if the account is not active or has insufficient funds
+     */
+    public int subtractBalance(Long id, BigDecimal amount) {
+        LOG.infof("Subtracting amount %s from balance of account id: %d", amount, id);
+        return update("balance = balance - :amount where id = :id and state = true and balance >= :amount",
+            Parameters.with("amount", amount).and("id", id)
+        );
+    }
+
+    /**
+     * Adds an amount to the balance of an active account in a single statement.
+     * @param id the ID of the account
+     * @param amount the amount to add
+     * @return the number of updated rows, 0 if the account is not active
+     */
+    public int addBalance(Long id, BigDecimal amount) {
+        LOG.infof("Adding amount %s to balance of account id: %d", amount, id);
+        return update("balance = balance + :amount where id = :id and state = true",
+            Parameters.with("amount", amount).and("id", id)
+        );
+    }
+
+    /**
+     * Applies a net balance change to an active account in a single statement, only if the balance stays non-negative.
+     * @param id the ID of the account
+     * @param delta the amount to add, negative to subtract
+     * @return the number of updated rows, 0 if the account is not active or the balance would become negative
+     */
+    public int applyBalanceDelta(Long id, BigDecimal delta) {
+        LOG.infof("Applying balance change %s to account id: %d", delta, id);
+        return update("balance = balance + :delta where id = :id and state = true and balance + :delta >= 0",
+            Parameters.with("delta", delta).and("id", id)
+        );
+    }
+
+    /**
+     * Sums the balances of the active accounts of a user.
+     * @param userId the ID of the user
+     * @return the total balance, zero if the user has no active accounts
+     */
+    public BigDecimal sumActiveBalanceByUserId(Long userId) {
+        LOG.debugf("Summing active account balances for user id: %d", userId);
+        return getEntityManager().createQuery(
+                "SELECT COALESCE(SUM(balance), 0) FROM Account WHERE user.id = :userId AND state = true", BigDecimal.class)
+            .setParameter("userId", userId)
+            .getSingleResult();
+    }
 }
@@ -16,19 +16,17 @@ public interface IAccountService extends IGenericService<Account, AccountCreateD
  
     /**
      * Process to subtract amount from account balance
-     * @param resourceCode the account resource code
-     * @param userId the user id
+     * @param id the account id
      * @param amount the amount to subtract
      */
-    public void processSubtractAmount(String resourceCode, Long userId, BigDecimal amount);
+    public void processSubtractAmount(Long id, BigDecimal amount);
 
     /**
      * Process to add amount to account balance
-     * @param resourceCode the account resource code
-     * @param userId the user id
+     * @param id the account id
      * @param amount the amount to add
      */
-    public void processAddAmount(String resourceCode, Long userId, BigDecimal amount);
+    public void processAddAmount(Long id, BigDecimal amount);
 
     /**
      * Deactivate an account and transfer remaining balance to another account
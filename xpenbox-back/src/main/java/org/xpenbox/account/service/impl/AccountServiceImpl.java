@@ -22,7 +22,8 @@ import org.xpenbox.transaction.dto.TransactionCreateDTO;
 import org.xpenbox.transaction.entity.Transaction.TransactionType;
 import org.xpenbox.transaction.service.ITransactionService;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
+import org.xpenbox.user.service.IUserDataVersionService;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.BadRequestException;
@@ -34,27 +35,30 @@ import jakarta.ws.rs.BadRequestException;
 public class AccountServiceImpl extends GenericServiceImpl<Account, AccountCreateDTO, AccountUpdateDTO, AccountResponseDTO> implements IAccountService {
     private static final Logger LOG = Logger.getLogger(AccountServiceImpl.class);
 
-    private final UserRepository userRepository;
+    private final IPrincipalService principalService;
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
     private final ITransactionService transactionService;
     private final IPlanValidatorService planValidatorService;
     private final IPlanSnapshotService planSnapshotService;
+    private final IUserDataVersionService userDataVersionService;
 
     public AccountServiceImpl(
-        UserRepository userRepository,
+        IPrincipalService principalService,
         AccountRepository accountRepository,
         AccountMapper accountMapper,
         ITransactionService transactionService,
         IPlanValidatorService planValidatorService,
-        IPlanSnapshotService planSnapshotService
+        IPlanSnapshotService planSnapshotService,
+        IUserDataVersionService userDataVersionService
     ) {
-        this.userRepository = userRepository;
+        this.principalService = principalService;
         this.accountRepository = accountRepository;
         this.accountMapper = accountMapper;
         this.transactionService = transactionService;
         this.planValidatorService = planValidatorService;
         this.planSnapshotService = planSnapshotService;
+        this.userDataVersionService = userDataVersionService;
     }
 
     @Override
@@ -63,8 +67,8 @@ public class AccountServiceImpl extends GenericServiceImpl<Account, AccountCreat
     }
 
     @Override
-    protected UserRepository getUserRepository() {
-        return userRepository;
+    protected IPrincipalService getPrincipalService() {
+        return principalService;
     }
 
     @Override
@@ -77,6 +81,11 @@ public class AccountServiceImpl extends GenericServiceImpl<Account, AccountCreat
         return accountMapper;
     }
 
+    @Override
+    protected void onUserDataChanged(User user) {
+        userDataVersionService.bumpVersion(user.id);
+    }
+
     @Override
     public AccountResponseDTO create(AccountCreateDTO accountCreateDTO, String userEmail) {
         LOG.infof("Validating plan limits for user email: %s before creating account", userEmail);
@@ -95,29 +104,27 @@ public class AccountServiceImpl extends GenericServiceImpl<Account, AccountCreat
     }
 
     @Override
-    public void processSubtractAmount(String resourceCode, Long userId, BigDecimal amount) {
-        LOG.infof("Processing subtract amount for Account with resource code: %s with amount: %s", resourceCode, amount);
+    public void processSubtractAmount(Long id, BigDecimal amount) {
+        LOG.infof("Processing subtract amount for Account ID: %d with amount: %s", id, amount);
 
-        Account account = validateAndGetAccount(resourceCode, userId);
-
-        if (account.getBalance().compareTo(amount) < 0) {
-            LOG.debugf("Insufficient funds for Account with resource code: %s. Current balance: %s, Requested amount: %s", resourceCode, account.getBalance(), amount);
+        if (accountRepository.subtractBalance(id, amount) == 0) {
+            validateAndGetAccount(id);
+            LOG.debugf("Insufficient funds for Account ID: %d. Requested amount: %s", id, amount);
             throw new InsufficientFoundsException("Insufficient funds for the transaction");
         }
-        account.setBalance(account.getBalance().subtract(amount));
 
-        accountRepository.persist(account);
-        LOG.infof("Transaction processed successfully for Account with resource code: %s. New balance: %s", resourceCode, account.getBalance());
+        LOG.infof("Transaction processed successfully for Account ID: %d", id);
     }
 
     @Override
-    public void processAddAmount(String resourceCode, Long userId, BigDecimal amount) {
-        LOG.infof("Processing add amount for Account with resource code: %s with amount: %s", resourceCode, amount);
-        Account account = validateAndGetAccount(resourceCode, userId);  
+    public void processAddAmount(Long id, BigDecimal amount) {
+        LOG.infof("Processing add amount for Account ID: %d with amount: %s", id, amount);
 
-        account.setBalance(account.getBalance().add(amount));
-        accountRepository.persist(account);
-        LOG.infof("Amount added successfully for Account with resource code: %s. New balance: %s", resourceCode, account.getBalance());
+        if (accountRepository.addBalance(id, amount) == 0) {
+            validateAndGetAccount(id);
+        }
+
+        LOG.infof("Amount added successfully for Account ID: %d", id);
     }
 
     @Override
@@ -154,6 +161,7 @@ public class AccountServiceImpl extends GenericServiceImpl<Account, AccountCreat
         accountToDeactivate.setState(false);
 
         accountRepository.persist(accountToDeactivate);
+        onUserDataChanged(user);
         LOG.infof("Account with resource code: %s deactivated successfully", resourceCode);
     }
 
@@ -176,4 +184,19 @@ public class AccountServiceImpl extends GenericServiceImpl<Account, AccountCreat
         return account;
     }
 
+    private Account validateAndGetAccount(Long id) {
+        Account account = accountRepository.findByIdOptional(id)
+            .orElseThrow(() -> {
+                LOG.debugf("Account with ID %d not found", id);
+                return new BadRequestException("Target account for balance transfer not found");
+            });
+
+        if (!account.getState()) {
+            LOG.debugf("Target account with ID %d is deactivated", id);
+            throw new BadRequestException("Target account for balance transfer is deactivated");
+        }
+
+        return account;
+    }
+
 }
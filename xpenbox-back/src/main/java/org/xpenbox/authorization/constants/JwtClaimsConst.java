@@ -0,0 +1,5 @@
+package org.xpenbox.authorization.constants;
+
+public class JwtClaimsConst {
+    public static final String USER_ID = "userId";
+}
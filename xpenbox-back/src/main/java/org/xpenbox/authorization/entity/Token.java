@@ -2,36 +2,55 @@ package org.xpenbox.authorization.entity;
 
 import java.time.LocalDateTime;
 
+import org.xpenbox.common.HashFunctions;
+import org.xpenbox.common.repository.Tsid;
 import org.xpenbox.user.entity.User;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 /**
  * Token entity representing authentication tokens associated with users.
+ * Only the SHA-256 digests of the access and refresh tokens are persisted; the raw values
+ * are kept in transient fields so they can be returned to the client right after being issued.
  */
 @Entity
+@NamedEntityGraph(
+    name = Token.GRAPH_REFRESH,
+    attributeNodes = @NamedAttributeNode("user")
+)
 @Table(name = "tbl_token")
 public class Token extends PanacheEntityBase {
 
+    /** Fetch plan for refreshing a token, which issues a new access token for its user. */
+    public static final String GRAPH_REFRESH = "token-refresh";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
     @Column(name = "resource_code", nullable = false, unique = true, length = 100)
     private String resourceCode;
 
-    @Column(name = "access_token", nullable = false, length = 1000)
+    @Column(name = "access_token_hash", nullable = false, unique = true, length = 64)
+    private String accessTokenHash;
+
+    @Column(name = "refresh_token_hash", nullable = false, unique = true, length = 64)
+    private String refreshTokenHash;
+
+    @Transient
     private String accessToken;
 
-    @Column(name = "refresh_token", nullable = false, length = 250)
+    @Transient
     private String refreshToken;
 
     @Column(name = "access_token_expires_at", nullable = false)
@@ -52,7 +71,7 @@ public class Token extends PanacheEntityBase {
     @Column(name = "last_used_at", nullable = true)
     private LocalDateTime lastUsedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -70,6 +89,11 @@ public class Token extends PanacheEntityBase {
 
     public void setAccessToken(String accessToken) {
         this.accessToken = accessToken;
+        this.accessTokenHash = HashFunctions.sha256Hex(accessToken);
+    }
+
+    public String getAccessTokenHash() {
+        return accessTokenHash;
     }
 
     public String getRefreshToken() {
@@ -78,6 +102,11 @@ public class Token extends PanacheEntityBase {
 
     public void setRefreshToken(String refreshToken) {
         this.refreshToken = refreshToken;
+        this.refreshTokenHash = HashFunctions.sha256Hex(refreshToken);
+    }
+
+    public String getRefreshTokenHash() {
+        return refreshTokenHash;
     }
 
     public LocalDateTime getAccessTokenExpiresAt() {
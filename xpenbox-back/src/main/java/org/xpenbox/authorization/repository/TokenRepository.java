@@ -1,10 +1,14 @@
 package org.xpenbox.authorization.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.SpecHints;
 import org.jboss.logging.Logger;
 import org.xpenbox.authorization.entity.Token;
 import org.xpenbox.common.DateFunctions;
+import org.xpenbox.common.HashFunctions;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import io.quarkus.panache.common.Parameters;
@@ -18,18 +22,18 @@ public class TokenRepository implements PanacheRepository<Token> {
     private static final Logger LOG = Logger.getLogger(TokenRepository.class);
 
     /**
-     * Finds a token by its access token value.
+     * Finds a token by its access token value, using the SHA-256 digest of the access token.
      *
      * @param accessToken the access token value to search for
      * @return an Optional containing the Token if found, otherwise empty
      */
     public Optional<Token> findByAccessToken(String accessToken) {
         LOG.debugf("Finding token by access token: %s", accessToken);
-        return find("accessToken", accessToken).firstResultOptional();
+        return find("accessTokenHash", HashFunctions.sha256Hex(accessToken)).firstResultOptional();
     }
 
     /**
-     * Finds a valid (not revoked and not expired) refresh token by its value.
+     * Finds a valid (not revoked and not expired) refresh token by its value, using the SHA-256 digest of the refresh token.
      *
      * @param refreshToken the refresh token value to search for
      * @return an Optional containing the Token if found and valid, otherwise empty
@@ -37,13 +41,27 @@ public class TokenRepository implements PanacheRepository<Token> {
     public Optional<Token> findValidRefreshToken(String refreshToken) {
         LOG.debugf("Finding valid refresh token: %s", refreshToken);
         return find("""
-            refreshToken = :refreshToken and 
+            refreshTokenHash = :refreshTokenHash and 
             revoked = false and 
             (refreshTokenExpiresAt is null or refreshTokenExpiresAt > :refreshTokenExpiresAt)
-            """, Parameters.with("refreshToken", refreshToken).and("refreshTokenExpiresAt", DateFunctions.currentLocalDateTime()))
+            """, Parameters.with("refreshTokenHash", HashFunctions.sha256Hex(refreshToken)).and("refreshTokenExpiresAt", DateFunctions.currentLocalDateTime()))
+                .withHint(SpecHints.HINT_SPEC_FETCH_GRAPH, getEntityManager().getEntityGraph(Token.GRAPH_REFRESH))
                 .firstResultOptional();
     }
     
+    /**
+     * Finds the tokens of a user that are not revoked and whose access token has not expired yet.
+     *
+     * @param userId the ID of the user
+     * @param now the current date and time
+     * @return a list of the tokens with an access token still usable
+     */
+    public List<Token> findActiveByUserId(Long userId, LocalDateTime now) {
+        LOG.debugf("Finding active tokens for user ID: %d", userId);
+        return list("user.id = :userId and revoked = false and accessTokenExpiresAt > :now",
+            Parameters.with("userId", userId).and("now", now));
+    }
+
     /**
      * Revokes all tokens associated with a specific user ID.
      *
@@ -53,4 +71,15 @@ public class TokenRepository implements PanacheRepository<Token> {
         LOG.debugf("Revoking all tokens for user ID: %d", userId);
         update("revoked = true where user.id = :userId", Parameters.with("userId", userId));
     }
+
+    /**
+     * Finds all revoked tokens whose access token has not expired yet.
+     *
+     * @param now the current date and time
+     * @return a list of revoked tokens with an access token still within its lifetime
+     */
+    public List<Token> findRevokedWithActiveAccessToken(LocalDateTime now) {
+        LOG.debugf("Finding revoked tokens with access token expiring after: %s", now);
+        return list("revoked = true and accessTokenExpiresAt > :now", Parameters.with("now", now));
+    }
 }
@@ -0,0 +1,26 @@
+package org.xpenbox.authorization.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for tracking revoked access tokens in memory, so that request authentication does not need to query the token table.
+ */
+public interface ITokenRevocationService {
+
+    /**
+     * Registers an access token as revoked until its expiration. When called inside a transaction, the token is only
+     * registered once the transaction commits.
+     *
+     * @param accessTokenHash the SHA-256 digest of the access token to be revoked
+     * @param expiresAt the expiration of the access token, after which the entry can be discarded
+     */
+    void revokeAccessToken(String accessTokenHash, LocalDateTime expiresAt);
+
+    /**
+     * Checks whether an access token has been revoked.
+     *
+     * @param accessToken the raw access token
+     * @return true if the access token has been revoked, false otherwise
+     */
+    boolean isRevoked(String accessToken);
+}
@@ -31,4 +31,11 @@ public interface ITokenService {
      * @param refreshToken the refresh token to be revoked
      */
     void revokeToken(String refreshToken);
+
+    /**
+     * Revokes every Token of the specified user, ending all of their sessions.
+     *
+     * @param user the user whose tokens are to be revoked
+     */
+    void revokeAllTokens(User user);
 }
@@ -0,0 +1,122 @@
+package org.xpenbox.authorization.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.xpenbox.authorization.entity.Token;
+import org.xpenbox.authorization.repository.TokenRepository;
+import org.xpenbox.authorization.service.ITokenRevocationService;
+import org.xpenbox.common.DateFunctions;
+import org.xpenbox.common.HashFunctions;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+
+/**
+ * In-memory implementation of the ITokenRevocationService interface. Revoked access tokens are kept as SHA-256 digests
+ * only until they expire, since an expired access token is already rejected by the JWT signature and expiry check. The
+ * registry is bounded by configuration; if it ever fills up with unexpired entries, revocation checks fall back to the
+ * token table until every revocation that could not be registered has expired. Revocations made inside a transaction
+ * are registered once it commits, so a rolled back revocation never rejects a token that is still valid.
+ */
+@ApplicationScoped
+public class TokenRevocationServiceImpl implements ITokenRevocationService {
+    private static final Logger LOG = Logger.getLogger(TokenRevocationServiceImpl.class);
+
+    @ConfigProperty(name = "token.revocation.max.entries", defaultValue = "10000")
+    private Integer maxEntries;
+
+    private final Map<String, LocalDateTime> revokedAccessTokens = new ConcurrentHashMap<>();
+    private volatile LocalDateTime fallbackUntil;
+
+    private final TokenRepository tokenRepository;
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    public TokenRevocationServiceImpl(TokenRepository tokenRepository, TransactionSynchronizationRegistry transactionSynchronizationRegistry) {
+        this.tokenRepository = tokenRepository;
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+    }
+
+    /**
+     * Loads the revoked access tokens that have not expired yet, so revocations survive an application restart.
+     *
+     * @param event the startup event
+     */
+    @Transactional
+    void onStart(@Observes StartupEvent event) {
+        LOG.info("Loading revoked access tokens into the revocation registry");
+        List<Token> tokens = tokenRepository.findRevokedWithActiveAccessToken(DateFunctions.currentLocalDateTime());
+        tokens.forEach(token -> register(token.getAccessTokenHash(), token.getAccessTokenExpiresAt()));
+        LOG.infof("Revocation registry loaded with %d access tokens", revokedAccessTokens.size());
+    }
+
+    @Override
+    public void revokeAccessToken(String accessTokenHash, LocalDateTime expiresAt) {
+        if (accessTokenHash == null || expiresAt == null || expiresAt.isBefore(DateFunctions.currentLocalDateTime())) {
+            LOG.debug("Access token is missing or already expired, skipping revocation registry");
+            return;
+        }
+
+        if (transactionSynchronizationRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            register(accessTokenHash, expiresAt);
+            return;
+        }
+
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() { }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    register(accessTokenHash, expiresAt);
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean isRevoked(String accessToken) {
+        LocalDateTime fallback = fallbackUntil;
+        if (fallback != null && fallback.isAfter(DateFunctions.currentLocalDateTime())) {
+            LOG.debug("Revocation registry is saturated, checking the token table");
+            return tokenRepository.findByAccessToken(accessToken)
+                .map(Token::getRevoked)
+                .orElse(true);
+        }
+
+        return revokedAccessTokens.containsKey(HashFunctions.sha256Hex(accessToken));
+    }
+
+    private void register(String accessTokenHash, LocalDateTime expiresAt) {
+        if (revokedAccessTokens.size() >= maxEntries) {
+            purgeExpired();
+        }
+
+        if (revokedAccessTokens.size() >= maxEntries) {
+            LOG.warnf("Revocation registry is full (%d entries), falling back to the token table", maxEntries);
+            if (fallbackUntil == null || fallbackUntil.isBefore(expiresAt)) {
+                fallbackUntil = expiresAt;
+            }
+            return;
+        }
+
+        revokedAccessTokens.put(accessTokenHash, expiresAt);
+    }
+
+    private void purgeExpired() {
+        LocalDateTime now = DateFunctions.currentLocalDateTime();
+        revokedAccessTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+
+        LOG.debugf("Revocation registry purged, %d access tokens remaining", revokedAccessTokens.size());
+    }
+}
@@ -1,13 +1,16 @@
 package org.xpenbox.authorization.service.impl;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
+import org.xpenbox.authorization.constants.JwtClaimsConst;
 import org.xpenbox.authorization.dto.TokenResponseDTO;
 import org.xpenbox.authorization.entity.Token;
 import org.xpenbox.authorization.mapper.TokenMapper;
 import org.xpenbox.authorization.repository.TokenRepository;
+import org.xpenbox.authorization.service.ITokenRevocationService;
 import org.xpenbox.authorization.service.ITokenService;
 import org.xpenbox.common.DateFunctions;
 import org.xpenbox.common.ResourceCode;
@@ -39,13 +42,16 @@ public class TokenServiceImpl implements ITokenService {
 
     private final TokenRepository tokenRepository;
     private final TokenMapper tokenMapper;
+    private final ITokenRevocationService tokenRevocationService;
 
     public TokenServiceImpl(
         TokenRepository tokenRepository,
-        TokenMapper tokenMapper
+        TokenMapper tokenMapper,
+        ITokenRevocationService tokenRevocationService
     ) {
         this.tokenRepository = tokenRepository;
         this.tokenMapper = tokenMapper;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -81,6 +87,7 @@ public class TokenServiceImpl implements ITokenService {
             throw new UnauthorizedException("Refresh token has expired");
         }
 
+        tokenRevocationService.revokeAccessToken(token.getAccessTokenHash(), token.getAccessTokenExpiresAt());
         token = completeTokenData(token);
 
         tokenRepository.persist(token);
@@ -101,9 +108,19 @@ public class TokenServiceImpl implements ITokenService {
         }
         token.setRevoked(true);
         tokenRepository.persist(token);
+        tokenRevocationService.revokeAccessToken(token.getAccessTokenHash(), token.getAccessTokenExpiresAt());
         LOG.infof("Token revoked successfully for email: %s", token.getUser().getEmail());
     }
 
+    @Override
+    public void revokeAllTokens(User user) {
+        LOG.infof("Revoking all tokens for email: %s", user.getEmail());
+        List<Token> activeTokens = tokenRepository.findActiveByUserId(user.id, DateFunctions.currentLocalDateTime());
+        tokenRepository.revokeAllByUserId(user.id);
+        activeTokens.forEach(token -> tokenRevocationService.revokeAccessToken(token.getAccessTokenHash(), token.getAccessTokenExpiresAt()));
+        LOG.infof("All tokens revoked successfully for email: %s", user.getEmail());
+    }
+
     private Token completeTokenData(Token token) {
         LOG.debugf("Completing token data for token ID: %d", token.getResourceCode());
         String accessToken = generateAccessToken(token.getUser());
@@ -121,6 +138,7 @@ public class TokenServiceImpl implements ITokenService {
         LOG.debugf("Generating access token for email: %s", user.getEmail());
         String accessToken = Jwt.issuer(issuer)
                 .subject(user.getEmail())
+                .claim(JwtClaimsConst.USER_ID, user.id)
                 .expiresAt(System.currentTimeMillis() / 1000 + expirationTime)
                 .sign();
         
@@ -3,29 +3,40 @@ package org.xpenbox.category.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.xpenbox.common.repository.Tsid;
 import org.xpenbox.user.entity.User;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Category entity representing category records associated with users.
+ * The usage counters are changed with relative updates in UsageCounterRepository, so only modified columns are written
+ * when the entity is flushed, to never overwrite them with stale values.
  */
 @Entity
+@Cacheable
+@NaturalIdCache
+@DynamicUpdate
 @Table(name = "tbl_category")
 public class Category extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
+    @NaturalId
     @Column(name = "resource_code", nullable = false, unique = true, length = 100)
     private String resourceCode;
 
@@ -50,10 +61,15 @@ public class Category extends PanacheEntityBase {
     @Column(name = "state", nullable = false)
     private Boolean state = true;
 
-    @ManyToOne
+    @NaturalId
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public String getResourceCode() {
         return resourceCode;
     }
@@ -125,4 +141,12 @@ public class Category extends PanacheEntityBase {
     public void setUser(User user) {
         this.user = user;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
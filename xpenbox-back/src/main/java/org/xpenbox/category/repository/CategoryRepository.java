@@ -1,11 +1,30 @@
 package org.xpenbox.category.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.jboss.logging.Logger;
 import org.xpenbox.category.entity.Category;
 import org.xpenbox.common.repository.GenericRepository;
 
+import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
 
 @ApplicationScoped
 public class CategoryRepository extends GenericRepository<Category> {
-    
+    private static final Logger LOG = Logger.getLogger(CategoryRepository.class);
+
+    /**
+     * Find the categories of a user by their IDs.
+     * @param ids the IDs of the categories
+     * @param userId the ID of the user
+     * @return a list of the categories found
+     */
+    public List<Category> findByIdsAndUserId(Collection<Long> ids, Long userId) {
+        LOG.debugf("Finding %d categories for User ID: %d", ids.size(), userId);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return list("id in :ids and user.id = :userId", Parameters.with("ids", ids).and("userId", userId));
+    }
 }
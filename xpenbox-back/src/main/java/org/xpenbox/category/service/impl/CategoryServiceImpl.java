@@ -23,8 +23,10 @@ import org.xpenbox.exception.ResourceNotFoundException;
 import org.xpenbox.transaction.entity.Transaction;
 import org.xpenbox.transaction.entity.Transaction.TransactionType;
 import org.xpenbox.transaction.repository.TransactionRepository;
+import org.xpenbox.transaction.service.ITransactionRollupService;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
+import org.xpenbox.user.service.IUserDataVersionService;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -35,27 +37,33 @@ import jakarta.enterprise.context.ApplicationScoped;
 public class CategoryServiceImpl extends GenericServiceImpl<Category, CategoryCreateDTO, CategoryUpdateDTO, CategoryResponseDTO> implements ICategoryService {
     private static final Logger LOG = Logger.getLogger(CategoryServiceImpl.class);
 
-    private final UserRepository userRepository;
+    private final IPrincipalService principalService;
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final IPlanValidatorService planValidatorService;
     private final IPlanSnapshotService planSnapshotService;
     private final TransactionRepository transactionRepository;
+    private final ITransactionRollupService transactionRollupService;
+    private final IUserDataVersionService userDataVersionService;
 
     public CategoryServiceImpl(
-        UserRepository userRepository,
+        IPrincipalService principalService,
         CategoryRepository categoryRepository,
         CategoryMapper categoryMapper,
         IPlanValidatorService planValidatorService,
         IPlanSnapshotService planSnapshotService,
-        TransactionRepository transactionRepository
+        TransactionRepository transactionRepository,
+        ITransactionRollupService transactionRollupService,
+        IUserDataVersionService userDataVersionService
     ) {
-        this.userRepository = userRepository;
+        this.principalService = principalService;
         this.categoryRepository = categoryRepository;
         this.categoryMapper =  categoryMapper;
         this.planValidatorService = planValidatorService;
         this.planSnapshotService = planSnapshotService;
         this.transactionRepository = transactionRepository;
+        this.transactionRollupService = transactionRollupService;
+        this.userDataVersionService = userDataVersionService;
     }
 
     @Override
@@ -64,8 +72,8 @@ public class CategoryServiceImpl extends GenericServiceImpl<Category, CategoryCr
     }
 
     @Override
-    protected UserRepository getUserRepository() {
-        return userRepository;
+    protected IPrincipalService getPrincipalService() {
+        return principalService;
     }
 
     @Override
@@ -78,6 +86,11 @@ public class CategoryServiceImpl extends GenericServiceImpl<Category, CategoryCr
         return categoryMapper;
     }
 
+    @Override
+    protected void onUserDataChanged(User user) {
+        userDataVersionService.bumpVersion(user.id);
+    }
+
     @Override
     public CategoryResponseDTO create(CategoryCreateDTO categoryCreateDTO, String userEmail) {
         LOG.infof("Validating plan limits for user email: %s before creating category", userEmail);
@@ -119,19 +132,14 @@ public class CategoryServiceImpl extends GenericServiceImpl<Category, CategoryCr
                 throw new ResourceNotFoundException("Category not found with resource code: " + resourceCode + " for user email: " + userEmail); 
             });
         
-        List<Transaction> transactionsWithCategory = transactionRepository.findAllByCategoryIdAndUserId(category.id, user.id);
-
-        if (!transactionsWithCategory.isEmpty()) {
-            List<Transaction> transactionsToUpdate = transactionsWithCategory.stream()
-                .map(tx -> {
-                    tx.setCategory(null);
-                    return tx;
-                })
-                .toList();
-            transactionRepository.persist(transactionsToUpdate);
+        int uncategorizedTransactions = transactionRepository.detachCategory(category.id, user.id);
+        if (uncategorizedTransactions > 0) {
+            LOG.infof("Removed category from %d transactions", uncategorizedTransactions);
+            transactionRollupService.uncategorize(user.id, category.id);
         }
 
         categoryRepository.delete(category);
+        onUserDataChanged(user);
         LOG.infof("Category deleted with resource code: %s for user email: %s", resourceCode, userEmail);
     }
 
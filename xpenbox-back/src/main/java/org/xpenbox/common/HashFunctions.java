@@ -0,0 +1,34 @@
+package org.xpenbox.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Utility class for hashing values.
+ */
+public class HashFunctions {
+    private static final Logger LOG = Logger.getLogger(HashFunctions.class);
+
+    /**
+     * Computes the SHA-256 digest of a string and returns it as a lowercase hexadecimal string of 64 characters.
+     * @param value The value to be hashed. If this parameter is null, the method will return null.
+     * @return The hexadecimal SHA-256 digest of the value, or null if the input is null.
+     */
+    public static String sha256Hex(String value) {
+        if (value == null) {
+            LOG.warn("Provided value is null, returning null");
+            return null;
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package org.xpenbox.common;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
 
 import org.jboss.logging.Logger;
 
 /**
  * Utility class for generating resource codes.
+ * Resource codes have the form rc:xpenbox:{type}:{tsid}, where the TSID is encoded in 13 Crockford base32 characters,
+ * so codes of a type are generated in increasing order and new rows are appended at the end of the resource_code indexes.
+ * Codes generated before had the form rc:xpenbox:{type}:{yyyyMMddHHmmss}:{uuid}; both forms are accepted by {@link #parse(String)}.
  */
 public class ResourceCode {
     public static final Logger LOG = Logger.getLogger(ResourceCode.class);
@@ -30,16 +37,29 @@ public class ResourceCode {
 
 
         private final String value;
+        private final String prefix;
 
         ResourceType(String value) {
             this.value = value;
+            this.prefix = RESOURCE_CODE + ":" + value + ":";
         }
 
         public String getValue() {
             return value;
         }
+
+        public String getPrefix() {
+            return prefix;
+        }
     }
 
+    /**
+     * Information decoded from a resource code.
+     * @param resourceType The resource type segment of the code (e.g. "transaction").
+     * @param createdAt The date and time the code was generated, in the system default zone.
+     */
+    public record ParsedResourceCode(String resourceType, LocalDateTime createdAt) { }
+
     /**
      * Generate a resource code based on the specified resource type.
      *
@@ -47,16 +67,41 @@ public class ResourceCode {
      * @return the generated resource code
      */
     private static String generateResourceCode(ResourceType resourceType) {
-        LOG.debug("Generating token resource code");
+        LOG.debug("Generating resource code");
+
+        String prefix = resourceType.getPrefix();
+        char[] resourceCode = new char[prefix.length() + TsidFunctions.ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), resourceCode, 0);
+        TsidFunctions.encode(TsidFunctions.nextTsid(), resourceCode, prefix.length());
 
-        String timestamp = DateFunctions.currentLocalDateTime().format(DATE_FORMATTER);
-        String uuid = UUID.randomUUID().toString();
+        return new String(resourceCode);
+    }
 
-        return String.format("%s:%s:%s:%s", 
-                RESOURCE_CODE, 
-                resourceType.getValue(), 
-                timestamp, 
-                uuid); 
+    /**
+     * Parse a resource code in the current or the legacy format.
+     *
+     * @param resourceCode the resource code to parse
+     * @return the parsed resource code, or empty if it is not a valid resource code
+     */
+    public static Optional<ParsedResourceCode> parse(String resourceCode) {
+        if (resourceCode == null || !resourceCode.startsWith(RESOURCE_CODE + ":")) {
+            return Optional.empty();
+        }
+
+        String[] parts = resourceCode.substring(RESOURCE_CODE.length() + 1).split(":", 3);
+        try {
+            if (parts.length == 2) {
+                long epochMillis = TsidFunctions.getEpochMillis(TsidFunctions.decode(parts[1]));
+                LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+                return Optional.of(new ParsedResourceCode(parts[0], createdAt));
+            }
+            if (parts.length == 3) {
+                return Optional.of(new ParsedResourceCode(parts[0], LocalDateTime.parse(parts[1], DATE_FORMATTER)));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            LOG.debugf("Invalid resource code: %s", resourceCode);
+        }
+        return Optional.empty();
     }
 
     /**
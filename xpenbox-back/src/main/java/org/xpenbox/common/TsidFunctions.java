@@ -0,0 +1,119 @@
+package org.xpenbox.common;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+/**
+ * Utility class for generating time-sorted 64-bit identifiers (TSID).
+ * A TSID is made of 42 bits of milliseconds since 2025-01-01, 10 bits of node ID and 12 bits of counter,
+ * so identifiers generated later are greater, and up to 4096 identifiers per millisecond can be generated on each node.
+ */
+public class TsidFunctions {
+    private static final Logger LOG = Logger.getLogger(TsidFunctions.class);
+
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int COUNTER_BITS = 12;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /** Length of a TSID encoded with {@link #encode(long, char[], int)}. */
+    public static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final long NODE_ID = resolveNodeId();
+    private static final Object LOCK = new Object();
+
+    private static long lastMillis;
+    private static long counter;
+
+    /**
+     * Generates a new TSID.
+     * @return The generated TSID, always positive and greater than any TSID previously generated on this node.
+     */
+    public static long nextTsid() {
+        synchronized (LOCK) {
+            // A clock moving backwards keeps using the last millisecond instead of producing smaller identifiers
+            long millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                counter = (counter + 1) & COUNTER_MASK;
+                if (counter == 0) {
+                    millis = waitNextMillis(lastMillis);
+                }
+            } else {
+                counter = 0;
+            }
+            lastMillis = millis;
+            return ((millis - EPOCH_MILLIS) << (NODE_BITS + COUNTER_BITS)) | (NODE_ID << COUNTER_BITS) | counter;
+        }
+    }
+
+    /**
+     * Gets the time a TSID was generated at.
+     * @param tsid The TSID.
+     * @return The generation time, in milliseconds since the Unix epoch.
+     */
+    public static long getEpochMillis(long tsid) {
+        return (tsid >>> (NODE_BITS + COUNTER_BITS)) + EPOCH_MILLIS;
+    }
+
+    /**
+     * Encodes a TSID as 13 Crockford base32 characters written into the target array, without allocating.
+     * Encoded TSIDs have a fixed length and an ASCII-ordered alphabet, so they sort as strings in generation order.
+     * @param tsid The TSID to encode.
+     * @param target The array receiving the characters.
+     * @param offset The index of the first character in the target array.
+     */
+    public static void encode(long tsid, char[] target, int offset) {
+        long value = tsid;
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            target[offset + i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+
+    /**
+     * Decodes a TSID encoded with {@link #encode(long, char[], int)}.
+     * @param encoded The 13 Crockford base32 characters.
+     * @return The decoded TSID.
+     * @throws IllegalArgumentException If the value is not an encoded TSID.
+     */
+    public static long decode(String encoded) {
+        if (encoded == null || encoded.length() != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Invalid TSID: " + encoded);
+        }
+        long value = 0;
+        for (int i = 0; i < ENCODED_LENGTH; i++) {
+            int digit = Arrays.binarySearch(ALPHABET, Character.toUpperCase(encoded.charAt(i)));
+            if (digit < 0 || (i == 0 && digit > 15)) {
+                throw new IllegalArgumentException("Invalid TSID: " + encoded);
+            }
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+
+    private static long waitNextMillis(long millis) {
+        long current = System.currentTimeMillis();
+        while (current <= millis) {
+            Thread.onSpinWait();
+            current = System.currentTimeMillis();
+        }
+        return current;
+    }
+
+    /**
+     * Resolves the node ID from the tsid.node.id property, or picks a random one when it is not configured.
+     * Instances sharing a database should be given distinct node IDs.
+     */
+    private static long resolveNodeId() {
+        long nodeId = ConfigProvider.getConfig().getOptionalValue("tsid.node.id", Long.class)
+            .orElseGet(() -> (long) new SecureRandom().nextInt(1 << NODE_BITS));
+        LOG.infof("Generating TSIDs with node ID: %d", nodeId & NODE_MASK);
+        return nodeId & NODE_MASK;
+    }
+}
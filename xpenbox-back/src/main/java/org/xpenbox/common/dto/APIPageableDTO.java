@@ -15,6 +15,8 @@ import io.quarkus.runtime.annotations.RegisterForReflection;
  * @param content the content of the current page
  * @param clipped whether the content is clipped
  * @param filter the filter used for the content, if applicable
+ * @param nextCursor opaque cursor to request the next page with, or null if there are no more elements or cursors are not supported
+ * @param hasNext whether there is a next page, or null if unknown
  */
 @RegisterForReflection
 public record APIPageableDTO<T, F> (
@@ -24,7 +26,9 @@ public record APIPageableDTO<T, F> (
     Integer totalPages,
     List<T> content,
     Boolean clipped,
-    F filter
+    F filter,
+    String nextCursor,
+    Boolean hasNext
 ) { 
     /**
      * Generate a pageable DTO.
@@ -39,10 +43,30 @@ public record APIPageableDTO<T, F> (
      * @return a pageable DTO containing the provided information
      */
     public static <T, F> APIPageableDTO<T, F> generatePageableDTO(Integer pageNumber, Integer pageSize, Integer totalElements, List<T> content, Boolean clipped, F filter) {
+        return generatePageableDTO(pageNumber, pageSize, totalElements, content, clipped, filter, null, null);
+    }
+
+    /**
+     * Generate a pageable DTO with a cursor to the next page. The total elements may be null when they were not counted, in which case the total pages are null too.
+     * @param <T> the type of content
+     * @param <F> the type of filter
+     * @param pageNumber the current page number
+     * @param pageSize the size of the page
+     * @param totalElements the total number of elements
+     * @param content the content of the current page
+     * @param clipped whether the content is clipped
+     * @param filter the filter used for the content, if applicable
+     * @param nextCursor the cursor to request the next page with, or null if there are no more elements
+     * @param hasNext whether there is a next page, or null if unknown
+     * @return a pageable DTO containing the provided information
+     */
+    public static <T, F> APIPageableDTO<T, F> generatePageableDTO(Integer pageNumber, Integer pageSize, Integer totalElements, List<T> content, Boolean clipped, F filter, String nextCursor, Boolean hasNext) {
         Integer totalPages = 0;
-        if (pageNumber != null && pageSize != null) {
+        if (totalElements == null) {
+            totalPages = null;
+        } else if (pageNumber != null && pageSize != null) {
             totalPages = (int) Math.ceil((double) totalElements / pageSize);
         }
-        return new APIPageableDTO<>(pageNumber, pageSize, totalElements, totalPages, content, clipped, filter);
+        return new APIPageableDTO<>(pageNumber, pageSize, totalElements, totalPages, content, clipped, filter, nextCursor, hasNext);
     }
 }
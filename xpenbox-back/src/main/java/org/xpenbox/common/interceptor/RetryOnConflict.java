@@ -0,0 +1,34 @@
+package org.xpenbox.common.interceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+/**
+ * Re-runs the annotated transactional method when it fails because of an optimistic locking conflict.
+ * The method must start its own transaction (for example with @Transactional); when it is called inside
+ * an existing transaction the conflict is left to the caller, since only the outermost unit can be re-run.
+ */
+@InterceptorBinding
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Maximum number of attempts, including the first one.
+     * @return the maximum number of attempts
+     */
+    @Nonbinding
+    int maxAttempts() default 3;
+
+    /**
+     * Base delay in milliseconds before a new attempt. It doubles on every attempt and a random jitter of up to the same amount is added.
+     * @return the base delay in milliseconds
+     */
+    @Nonbinding
+    long delay() default 25;
+}
@@ -0,0 +1,95 @@
+package org.xpenbox.common.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.StaleStateException;
+import org.jboss.logging.Logger;
+import org.xpenbox.exception.ConflictException;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+
+/**
+ * Interceptor for methods annotated with RetryOnConflict. It runs before the transactional interceptor, so each
+ * attempt gets a new transaction and persistence context, and waits with an exponential, jittered backoff between
+ * attempts. When every attempt fails, a ConflictException is thrown.
+ */
+@RetryOnConflict
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class RetryOnConflictInterceptor {
+    private static final Logger LOG = Logger.getLogger(RetryOnConflictInterceptor.class);
+
+    private final TransactionManager transactionManager;
+
+    public RetryOnConflictInterceptor(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Invokes the intercepted method, re-running it on optimistic locking conflicts.
+     * @param context the invocation context
+     * @return the result of the intercepted method
+     * @throws Exception if the intercepted method fails for any other reason
+     */
+    @AroundInvoke
+    public Object retryOnConflict(InvocationContext context) throws Exception {
+        if (isTransactionActive()) {
+            LOG.debugf("Transaction already active for %s, conflicts are handled by the caller", context.getMethod().getName());
+            return context.proceed();
+        }
+
+        RetryOnConflict retryOnConflict = getRetryOnConflict(context.getMethod());
+        int attempt = 1;
+
+        while (true) {
+            try {
+                return context.proceed();
+            } catch (Exception e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    LOG.warnf("Optimistic locking conflict in %s after %d attempts", context.getMethod().getName(), attempt);
+                    throw new ConflictException("The resource was modified concurrently, please try again");
+                }
+
+                long backoff = retryOnConflict.delay() << (attempt - 1);
+                long delay = backoff + ThreadLocalRandom.current().nextLong(backoff + 1);
+                LOG.infof("Optimistic locking conflict in %s, retrying attempt %d in %d ms", context.getMethod().getName(), attempt + 1, delay);
+
+                Thread.sleep(delay);
+                attempt++;
+            }
+        }
+    }
+
+    private boolean isTransactionActive() throws SystemException {
+        return transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION;
+    }
+
+    private RetryOnConflict getRetryOnConflict(Method method) {
+        RetryOnConflict retryOnConflict = method.getAnnotation(RetryOnConflict.class);
+        if (retryOnConflict == null) {
+            retryOnConflict = method.getDeclaringClass().getAnnotation(RetryOnConflict.class);
+        }
+        return retryOnConflict;
+    }
+
+    private boolean isConflict(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package org.xpenbox.common.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the match_against(column, query) HQL function, rendered as MariaDB's
+ * MATCH(column) AGAINST(query IN BOOLEAN MODE). It returns the relevance of the row for the query (0 when it does not match),
+ * so it can be used both as filter and as ordering. The column must be covered by a FULLTEXT index.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_AGAINST = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+            MATCH_AGAINST,
+            "match(?1) against(?2 in boolean mode)",
+            functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
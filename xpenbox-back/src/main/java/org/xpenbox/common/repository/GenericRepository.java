@@ -1,11 +1,24 @@
 package org.xpenbox.common.repository;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.graph.RootGraph;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.jboss.logging.Logger;
+import org.xpenbox.user.entity.User;
 
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import jakarta.persistence.Cacheable;
 
 /**
  * Generic Repository class for entities with user association.
@@ -14,29 +27,67 @@ public abstract class GenericRepository<T> implements PanacheRepository<T> {
     
     private final Logger LOG;
 
+    private Class<T> entityClass;
+
     public GenericRepository() {
         this.LOG = Logger.getLogger(this.getClass());
     }
 
     /**
      * Find an entity by its resource code and user ID.
+     * Entities mapping (resourceCode, user) as natural id are loaded by natural id, so repeated lookups are resolved from the
+     * persistence context within a transaction and from the natural id cache across transactions, instead of querying again.
      * @param resourceCode the resource code of the entity
      * @param userId the ID of the user
      * @return an Optional containing the found entity, or empty if not found
      */
     public Optional<T> findByResourceCodeAndUserId(String resourceCode, Long userId) {
         LOG.infof("Finding entity by resource code: %s and user id: %d", resourceCode, userId);
-        return find("resourceCode = ?1 and user.id = ?2", resourceCode, userId).firstResultOptional();
+        Session session = getSession();
+        if (!hasNaturalId(session)) {
+            return find("resourceCode = ?1 and user.id = ?2", resourceCode, userId).firstResultOptional();
+        }
+        return session.byNaturalId(getEntityClass())
+            .using("resourceCode", resourceCode)
+            .using("user", session.getReference(User.class, userId))
+            .loadOptional();
+    }
+
+    /**
+     * Find an entity by its resource code and user ID, fetching the associations of a named entity graph in the same query.
+     * @param resourceCode the resource code of the entity
+     * @param userId the ID of the user
+     * @param entityGraph the name of the entity graph to fetch
+     * @return an Optional containing the found entity, or empty if not found
+     */
+    public Optional<T> findByResourceCodeAndUserId(String resourceCode, Long userId, String entityGraph) {
+        LOG.infof("Finding entity by resource code: %s and user id: %d with entity graph: %s", resourceCode, userId, entityGraph);
+        Session session = getSession();
+        if (!hasNaturalId(session)) {
+            return withEntityGraph(find("resourceCode = ?1 and user.id = ?2", resourceCode, userId), entityGraph).firstResultOptional();
+        }
+        @SuppressWarnings("unchecked")
+        RootGraph<T> graph = (RootGraph<T>) session.getEntityGraph(entityGraph);
+        return session.byNaturalId(getEntityClass())
+            .with(graph, GraphSemantic.FETCH)
+            .using("resourceCode", resourceCode)
+            .using("user", session.getReference(User.class, userId))
+            .loadOptional();
     }
 
     /**
      * Find all entities associated with a specific user ID.
+     * The query result is cached for entities stored in the second-level cache, and invalidated by any write to their table.
      * @param userId the ID of the user
      * @return a list of entities associated with the user ID
      */
     public List<T> findAllByUserId(Long userId) {
         LOG.infof("Finding all entities for user id: %d", userId);
-        return list("user.id", userId);
+        PanacheQuery<T> query = find("user.id", userId);
+        if (getEntityClass().isAnnotationPresent(Cacheable.class)) {
+            query = query.withHint(HibernateHints.HINT_CACHEABLE, true);
+        }
+        return query.list();
     }
 
     /**
@@ -68,4 +119,69 @@ public abstract class GenericRepository<T> implements PanacheRepository<T> {
         LOG.infof("Deleting entity by id: %d and user id: %d", id, userId);
         delete("id = ?1 and user.id = ?2", id, userId);
     }
+
+    /**
+     * Execute a bulk UPDATE of this entity. Pending changes are flushed first, and managed instances of the entity are
+     * detached afterwards, so no stale instance is read or flushed over the updated rows; reload them if still needed.
+     * @param query the update query, as accepted by update(String, Parameters)
+     * @param parameters the query parameters
+     * @return the number of updated rows
+     */
+    protected int bulkUpdate(String query, Parameters parameters) {
+        getEntityManager().flush();
+        int updated = update(query, parameters);
+        if (updated > 0) {
+            detachManagedEntities();
+        }
+        return updated;
+    }
+
+    /**
+     * Apply a named entity graph as fetch graph of a query, so the associations it names are fetched in the same
+     * statement and every other lazy association stays unloaded.
+     * @param query the query
+     * @param entityGraph the name of the entity graph
+     * @return the query with the fetch graph applied
+     */
+    protected PanacheQuery<T> withEntityGraph(PanacheQuery<T> query, String entityGraph) {
+        return query.withHint(SpecHints.HINT_SPEC_FETCH_GRAPH, getEntityManager().getEntityGraph(entityGraph));
+    }
+
+    /**
+     * Get the entity class managed by this repository, resolved from the type argument of GenericRepository.
+     * @return the entity class
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<T> getEntityClass() {
+        if (entityClass == null) {
+            Class<?> type = getClass();
+            while (!(type.getGenericSuperclass() instanceof ParameterizedType superType && superType.getRawType() == GenericRepository.class)) {
+                type = type.getSuperclass();
+            }
+            Type entityType = ((ParameterizedType) type.getGenericSuperclass()).getActualTypeArguments()[0];
+            entityClass = (Class<T>) entityType;
+        }
+        return entityClass;
+    }
+
+    /**
+     * Detach every managed instance of the entity, leaving the rest of the persistence context untouched.
+     */
+    private void detachManagedEntities() {
+        Session session = getSession();
+        String entityName = getEntityClass().getName();
+        List<Object> identifiers = session.getStatistics().getEntityKeys().stream()
+            .map(EntityKey.class::cast)
+            .filter(key -> key.getEntityName().equals(entityName))
+            .map(EntityKey::getIdentifier)
+            .toList();
+        identifiers.forEach(identifier -> session.detach(session.getReference(getEntityClass(), identifier)));
+    }
+
+    private boolean hasNaturalId(Session session) {
+        return session.getSessionFactory().unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(getEntityClass())
+            .hasNaturalIdentifier();
+    }
 }
@@ -0,0 +1,17 @@
+package org.xpenbox.common.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the annotated Long identifier as a time-sorted 64-bit ID in the application.
+ * The ID is assigned when the entity is persisted, so its insert can be batched at flush time.
+ */
+@IdGeneratorType(TsidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface Tsid { }
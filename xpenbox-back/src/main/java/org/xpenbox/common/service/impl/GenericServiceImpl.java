@@ -9,7 +9,7 @@ import org.xpenbox.common.service.IGenericService;
 import org.xpenbox.exception.ResourceNotFoundException;
 import org.xpenbox.exception.UnauthorizedException;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
 
 /**
  * Generic Service Implementation
@@ -18,7 +18,7 @@ public abstract class GenericServiceImpl<T, C, U, R> implements IGenericService<
     private static final Logger LOG = Logger.getLogger(GenericServiceImpl.class);
 
     protected abstract String getEntityName();
-    protected abstract UserRepository getUserRepository();
+    protected abstract IPrincipalService getPrincipalService();
     protected abstract GenericRepository<T> getGenericRepository();
     protected abstract GenericMapper<T, C, U, R> getGenericMapper();
 
@@ -30,6 +30,7 @@ public abstract class GenericServiceImpl<T, C, U, R> implements IGenericService<
         T newEntity = getGenericMapper().toEntity(entityCreateDTO, user);
 
         getGenericRepository().persist(newEntity);
+        onUserDataChanged(user);
         LOG.infof("%s created ", getEntityName());
 
         return getGenericMapper().toDTO(newEntity);
@@ -49,6 +50,7 @@ public abstract class GenericServiceImpl<T, C, U, R> implements IGenericService<
         boolean updated = getGenericMapper().updateEntity(entityUpdateDTO, existingEntity);
         if (updated) {
             getGenericRepository().persist(existingEntity);
+            onUserDataChanged(user);
             LOG.infof("%s updated with resource code: %s", getEntityName(), resourceCode);
         } else {
             LOG.infof("No changes detected for %s with resource code: %s", getEntityName(), resourceCode);
@@ -91,11 +93,18 @@ public abstract class GenericServiceImpl<T, C, U, R> implements IGenericService<
                 throw new ResourceNotFoundException(getEntityName() + " not found with resource code: " + resourceCode + " for user email: " + userEmail); 
             });
         getGenericRepository().delete(existingEntity);
+        onUserDataChanged(user);
         LOG.infof("%s deleted with resource code: %s", getEntityName(), resourceCode);
     }
     
+    /**
+     * Hook invoked after an entity of the user is created, updated or deleted. Does nothing by default.
+     * @param user the user whose data changed
+     */
+    protected void onUserDataChanged(User user) { }
+
     protected User validateAndGetUser(String userEmail) {
-        return getUserRepository().findByEmail(userEmail)
+        return getPrincipalService().findUserByEmail(userEmail)
             .orElseThrow(() -> {
                 LOG.errorf("User not found with email: %s", userEmail);
                 throw new UnauthorizedException("User not found with email: " + userEmail); 
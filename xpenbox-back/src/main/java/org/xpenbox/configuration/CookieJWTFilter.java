@@ -2,8 +2,7 @@ package org.xpenbox.configuration;
 
 import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.jboss.logging.Logger;
-import org.xpenbox.authorization.entity.Token;
-import org.xpenbox.authorization.repository.TokenRepository;
+import org.xpenbox.authorization.service.ITokenRevocationService;
 import org.xpenbox.exception.UnauthorizedException;
 
 import io.quarkus.security.identity.SecurityIdentity;
@@ -18,25 +17,26 @@ import jakarta.ws.rs.ext.Provider;
 /**
  * CookieJWTFilter is a JAX-RS filter that intercepts incoming HTTP requests
  * to validate JWT tokens stored in cookies. It checks for the presence of
- * an "access_token" cookie, verifies the token against the database,
- * and ensures that the token has not been revoked. If the token is invalid
- * or revoked, an UnauthorizedException is thrown.
+ * an "access_token" cookie, verifies the token signature and expiration
+ * locally, and ensures that the token has not been revoked using the
+ * in-memory revocation registry. If the token is invalid or revoked,
+ * an UnauthorizedException is thrown.
  */
 @Provider
 @Priority(Priorities.AUTHENTICATION)
 public class CookieJWTFilter implements ContainerRequestFilter {
     private static final Logger LOG = Logger.getLogger(CookieJWTFilter.class);
 
-    private final TokenRepository tokenRepository;
+    private final ITokenRevocationService tokenRevocationService;
     private final SecurityIdentity securityIdentity;
     private final JWTParser jwtParser;
 
     public CookieJWTFilter(
-        TokenRepository tokenRepository, 
+        ITokenRevocationService tokenRevocationService, 
         SecurityIdentity securityIdentity,
         JWTParser jwtParser
     ) {
-        this.tokenRepository = tokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
         this.securityIdentity = securityIdentity;
         this.jwtParser = jwtParser;
     }
@@ -80,20 +80,16 @@ public class CookieJWTFilter implements ContainerRequestFilter {
 
         LOG.debug("Access token from cookie or header: " + token);
 
-        Token tokenEntity = tokenRepository.findByAccessToken(token)
-            .orElseThrow(() -> { throw new UnauthorizedException("Invalid access token"); });
-        
-        LOG.debug("Token entity found: " + tokenEntity);
-
+        JsonWebToken jwt;
         try {
-            JsonWebToken jwt = jwtParser.parse(token);
+            jwt = jwtParser.parse(token);
             LOG.debug("JWT parsed successfully: " + jwt.getRawToken());
         } catch (Exception e) {
             LOG.debug("Failed to parse JWT: " + e.getMessage());
             throw new UnauthorizedException("Invalid access token");
         }
 
-        if (tokenEntity.getRevoked()) {
+        if (tokenRevocationService.isRevoked(token)) {
             LOG.debug("Token has been revoked");
             throw new UnauthorizedException("Token has been revoked");
         }
@@ -1,5 +1,6 @@
 package org.xpenbox.creditcard.repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import org.jboss.logging.Logger;
@@ -22,5 +23,68 @@ public class CreditCardRepository extends GenericRepository<CreditCard> {
             Parameters.with("billingDays", billingDays).and("paymentDays", paymentDays)
         );
     }
+
+    /**
+     * Adds an amount to the current balance of a credit card in a single statement, only if the credit limit is not exceeded.
+     * @param id the ID of the credit card
+     * @param amount the amount to add
+     * @return the number of updated rows, 0 if the credit card does not exist or the credit limit would be exceeded
+     */
+    public int addBalanceWithinCreditLimit(Long id, BigDecimal amount) {
+        LOG.infof("Adding amount %s to current balance of credit card id: %d", amount, id);
+        return update("currentBalance = currentBalance + :amount where id = :id and currentBalance + :amount <= creditLimit",
+            Parameters.with("amount", amount).and("id", id)
+        );
+    }
+
+    /**
+     * Subtracts a payment from the current balance of an active credit card in a single statement.
+     * @param id the ID of the credit card
+     * @param amount the amount to subtract
+     * @return the number of updated rows, 0 if the credit card is not active
+     */
+    public int subtractBalance(Long id, BigDecimal amount) {
+        LOG.infof("Subtracting amount %s from current balance of credit card id: %d", amount, id);
+        return update("currentBalance = currentBalance - :amount where id = :id and state = true",
+            Parameters.with("amount", amount).and("id", id)
+        );
+    }
+
+    /**
+     * Applies a net change to the current balance of a credit card in a single statement. An increase is only applied
+     * if the credit limit is not exceeded.
+     * @param id the ID of the credit card
+     * @param delta the amount to add, negative to subtract
+     * @return the number of updated rows, 0 if the credit card does not exist or the credit limit would be exceeded
+     */
+    public int applyBalanceDelta(Long id, BigDecimal delta) {
+        LOG.infof("Applying current balance change %s to credit card id: %d", delta, id);
+        return update("currentBalance = currentBalance + :delta where id = :id and (:delta <= 0 or currentBalance + :delta <= creditLimit)",
+            Parameters.with("delta", delta).and("id", id)
+        );
+    }
+
+    /**
+     * Finds the active credit cards of a user, ordered by current balance in descending order.
+     * @param userId the ID of the user
+     * @return a list of the active credit cards of the user
+     */
+    public List<CreditCard> findAllActiveByUserIdOrderByCurrentBalanceDesc(Long userId) {
+        LOG.debugf("Finding active credit cards ordered by current balance for user id: %d", userId);
+        return list("user.id = ?1 and state = true order by currentBalance desc", userId);
+    }
+
+    /**
+     * Sums the current balances and the credit limits of the active credit cards of a user.
+     * @param userId the ID of the user
+     * @return an array holding the total current balance and the total credit limit, both zero if the user has no active credit cards
+     */
+    public BigDecimal[] sumActiveCurrentBalanceAndCreditLimitByUserId(Long userId) {
+        LOG.debugf("Summing active credit card balances and limits for user id: %d", userId);
+        Object[] totals = getEntityManager().createQuery(
+                "SELECT COALESCE(SUM(currentBalance), 0), COALESCE(SUM(creditLimit), 0) FROM CreditCard WHERE user.id = :userId AND state = true", Object[].class)
+            .setParameter("userId", userId)
+            .getSingleResult();
+        return new BigDecimal[] { (BigDecimal) totals[0], (BigDecimal) totals[1] };
+    }
 }
-    
\ No newline at end of file
@@ -23,11 +23,10 @@ public interface ICreditCardService extends IGenericService<CreditCard, CreditCa
 
     /**
      * Process adding payment to the credit card.
-     * @param resourceCode the credit card resource code
-     * @param userId the user id
+     * @param id the credit card id
      * @param amount the payment amount
      */
-    public void processAddPayment(String resourceCode, Long userId, BigDecimal amount);
+    public void processAddPayment(Long id, BigDecimal amount);
 
     /**
      * Deactivate a credit card and pay off its balance using a specified account.
@@ -25,7 +25,8 @@ import org.xpenbox.transaction.dto.TransactionCreateDTO;
 import org.xpenbox.transaction.entity.Transaction.TransactionType;
 import org.xpenbox.transaction.service.ITransactionService;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
+import org.xpenbox.user.service.IUserDataVersionService;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -36,27 +37,30 @@ import jakarta.enterprise.context.ApplicationScoped;
 public class CreditCardServiceImpl extends GenericServiceImpl<CreditCard, CreditCardCreateDTO, CreditCardUpdateDTO, CreditCardResponseDTO> implements ICreditCardService {
     private static final Logger LOG = Logger.getLogger(CreditCardServiceImpl.class);
 
-    private final UserRepository userRepository;
+    private final IPrincipalService principalService;
     private final CreditCardRepository creditCardRepository;
     private final CreditCardMapper creditCardMapper;
     private final ITransactionService transactionService;
     private final IPlanValidatorService planValidatorService;
     private final IPlanSnapshotService planSnapshotService;
+    private final IUserDataVersionService userDataVersionService;
 
     public CreditCardServiceImpl(
-        UserRepository userRepository,
+        IPrincipalService principalService,
         CreditCardRepository creditCardRepository,
         CreditCardMapper creditCardMapper,
         ITransactionService transactionService,
         IPlanValidatorService planValidatorService,
-        IPlanSnapshotService planSnapshotService
+        IPlanSnapshotService planSnapshotService,
+        IUserDataVersionService userDataVersionService
     ) {
-        this.userRepository = userRepository;
+        this.principalService = principalService;
         this.creditCardRepository = creditCardRepository;
         this.creditCardMapper = creditCardMapper;
         this.transactionService = transactionService;
         this.planValidatorService = planValidatorService;
         this.planSnapshotService = planSnapshotService;
+        this.userDataVersionService = userDataVersionService;
     }
 
     @Override
@@ -65,8 +69,8 @@ public class CreditCardServiceImpl extends GenericServiceImpl<CreditCard, Credit
     }
 
     @Override
-    protected UserRepository getUserRepository() {
-        return userRepository;
+    protected IPrincipalService getPrincipalService() {
+        return principalService;
     }
 
     @Override
@@ -79,6 +83,11 @@ public class CreditCardServiceImpl extends GenericServiceImpl<CreditCard, Credit
         return creditCardMapper;
     }
 
+    @Override
+    protected void onUserDataChanged(User user) {
+        userDataVersionService.bumpVersion(user.id);
+    }
+
     @Override
     public CreditCardResponseDTO create(CreditCardCreateDTO creditCardCreateDTO, String userEmail) {
         LOG.infof("Validating plan limits for user email: %s before creating credit card", userEmail);
@@ -100,31 +109,35 @@ public class CreditCardServiceImpl extends GenericServiceImpl<CreditCard, Credit
     public void processAddAmount(Long id, BigDecimal amount) {
         LOG.infof("Processing add amount for CreditCard ID: %d with amount: %s", id, amount);
 
-        CreditCard creditCard = creditCardRepository.findByIdOptional(id)
-            .orElseThrow(() -> {
-                return new ResourceNotFoundException("CreditCard not found");
-            });
+        if (creditCardRepository.addBalanceWithinCreditLimit(id, amount) == 0) {
+            creditCardRepository.findByIdOptional(id)
+                .orElseThrow(() -> {
+                    return new ResourceNotFoundException("CreditCard not found");
+                });
 
-        if (creditCard.getCreditLimit().compareTo(creditCard.getCurrentBalance().add(amount)) < 0) {
-            LOG.debugf("Credit limit exceeded for CreditCard ID %d: Current balance %s, Requested amount %s, Credit limit %s", id, creditCard.getCurrentBalance(), amount, creditCard.getCreditLimit());
+            LOG.debugf("Credit limit exceeded for CreditCard ID %d: Requested amount %s", id, amount);
             throw new InsufficientFoundsException("Credit limit exceeded");
         }
 
-        creditCard.setCurrentBalance(creditCard.getCurrentBalance().add(amount));
-
-        creditCardRepository.persist(creditCard);
-        LOG.infof("Amount added successfully for CreditCard ID: %d. New balance: %s", id, creditCard.getCurrentBalance());
+        LOG.infof("Amount added successfully for CreditCard ID: %d", id);
     }
 
     @Override
-    public void processAddPayment(String resourceCode, Long userId, BigDecimal amount) {
-        LOG.infof("Processing add payment for CreditCard resource code: %s with amount: %s", resourceCode, amount);
-        CreditCard creditCard = validateAndGetCreditCard(resourceCode, userId);
-        
-        creditCard.setCurrentBalance(creditCard.getCurrentBalance().subtract(amount));
+    public void processAddPayment(Long id, BigDecimal amount) {
+        LOG.infof("Processing add payment for CreditCard ID: %d with amount: %s", id, amount);
 
-        creditCardRepository.persist(creditCard);
-        LOG.infof("Payment added successfully for CreditCard resource code: %s. New balance: %s", resourceCode, creditCard.getCurrentBalance());
+        if (creditCardRepository.subtractBalance(id, amount) == 0) {
+            CreditCard creditCard = creditCardRepository.findByIdOptional(id)
+                .orElseThrow(() -> {
+                    LOG.debugf("CreditCard with ID %d not found", id);
+                    return new BadRequestException("CreditCard to deactivate not found");
+                });
+
+            LOG.debugf("CreditCard with resource code %s is already deactivated", creditCard.getResourceCode());
+            throw new BadRequestException("CreditCard is already deactivated");
+        }
+
+        LOG.infof("Payment added successfully for CreditCard ID: %d", id);
     }
 
     @Override
@@ -158,6 +171,7 @@ public class CreditCardServiceImpl extends GenericServiceImpl<CreditCard, Credit
         creditCard.setState(false);
 
         creditCardRepository.persist(creditCard);
+        onUserDataChanged(user);
         LOG.infof("CreditCard with resource code: %s deactivated successfully", resourceCode);
     }
 
@@ -12,8 +12,11 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
 
@@ -31,16 +34,27 @@ public class DashboardController {
     }
 
     @GET
-    public Response generateDashboardData(@Context SecurityContext securityContext, @QueryParam("period") PeriodFilter periodFilter) {
+    public Response generateDashboardData(@Context SecurityContext securityContext, @Context Request request, @QueryParam("period") PeriodFilter periodFilter) {
         String userEmail = securityContext.getUserPrincipal().getName();
         LOG.infof("Dashboard data request received for user: %s", userEmail);
 
+        EntityTag entityTag = new EntityTag(dashboardService.getDashboardVersionTag(periodFilter, userEmail));
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            LOG.infof("Dashboard data not modified for user: %s", userEmail);
+            return notModified.tag(entityTag).cacheControl(cacheControl).build();
+        }
+
         DashboardResponseDTO dashboardData = dashboardService.generateDashboardData(periodFilter, userEmail);
         LOG.infof("Dashboard data generated successfully for user: %s", userEmail);
 
         return Response.ok(
             APIResponseDTO.success("Dashboard data retrieved successfully", dashboardData, Response.Status.OK.getStatusCode())
-        ).build();
+        ).tag(entityTag).cacheControl(cacheControl).build();
     }
     
 }
@@ -15,4 +15,12 @@ public interface IDashboardService {
      * @return A DTO containing the generated dashboard data.
      */
     DashboardResponseDTO generateDashboardData(PeriodFilter periodFilter, String userEmail);
+
+    /**
+     * Gets a tag identifying the current version of the dashboard data of a user, without generating the data. The tag changes whenever the data returned by generateDashboardData may change.
+     * @param periodFilter The filter containing the period of the dashboard data.
+     * @param userEmail The email of the user requesting the dashboard data.
+     * @return An opaque tag for the current version of the dashboard data.
+     */
+    String getDashboardVersionTag(PeriodFilter periodFilter, String userEmail);
 }
@@ -0,0 +1,126 @@
+package org.xpenbox.dashboard.service.impl;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup;
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup.FundingSource;
+
+/**
+ * Computes every dashboard metric of a period in a single pass over its monthly transaction rollups.
+ * Amounts are accumulated as cents in primitive longs (amounts are stored with 2 decimals), and per-category totals
+ * are accumulated in mutable cells, so no BigDecimal is created until the results are read. Rollups are never modified.
+ */
+final class DashboardRollupAggregator {
+
+    private static final int SCALE = 2;
+
+    private long incomeCents;
+    private long expenseCents;
+    private long netCents;
+    private final Map<Long, long[]> accountOutflowCentsByCategory = new HashMap<>();
+    private final Map<Long, long[]> creditCardExpenseCentsByCategory = new HashMap<>();
+
+    private DashboardRollupAggregator() { }
+
+    /**
+     * Aggregates the given rollups.
+     * @param rollups The monthly transaction rollups of the period.
+     * @return The aggregator holding the results.
+     */
+    static DashboardRollupAggregator aggregate(List<TransactionMonthlyRollup> rollups) {
+        DashboardRollupAggregator aggregator = new DashboardRollupAggregator();
+        for (TransactionMonthlyRollup rollup : rollups) {
+            aggregator.accept(rollup);
+        }
+        return aggregator;
+    }
+
+    /**
+     * Adds a rollup to the totals. INCOME adds to income and net cashflow; CREDIT_PAYMENT and EXPENSE funded by an account are
+     * outgoing funds (expense total and account category breakdown), which also reduce the net cashflow when paid from an account;
+     * EXPENSE charged to a credit card only counts in the credit card category breakdown.
+     * @param rollup The rollup to add.
+     */
+    private void accept(TransactionMonthlyRollup rollup) {
+        long cents = rollup.getTotalAmount().movePointRight(SCALE).longValueExact();
+        boolean fundedByAccount = rollup.getFundingSource() == FundingSource.ACCOUNT;
+
+        switch (rollup.getTransactionType()) {
+            case INCOME -> {
+                incomeCents += cents;
+                netCents += cents;
+            }
+            case CREDIT_PAYMENT -> {
+                expenseCents += cents;
+                if (fundedByAccount) {
+                    netCents -= cents;
+                }
+                addTo(accountOutflowCentsByCategory, rollup.getCategoryId(), cents);
+            }
+            case EXPENSE -> {
+                if (fundedByAccount) {
+                    expenseCents += cents;
+                    netCents -= cents;
+                    addTo(accountOutflowCentsByCategory, rollup.getCategoryId(), cents);
+                } else {
+                    addTo(creditCardExpenseCentsByCategory, rollup.getCategoryId(), cents);
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private static void addTo(Map<Long, long[]> totals, Long categoryId, long cents) {
+        totals.computeIfAbsent(categoryId, id -> new long[1])[0] += cents;
+    }
+
+    BigDecimal incomeTotal() {
+        return toAmount(incomeCents);
+    }
+
+    BigDecimal expenseTotal() {
+        return toAmount(expenseCents);
+    }
+
+    BigDecimal netTotal() {
+        return toAmount(netCents);
+    }
+
+    /**
+     * @return The cents of outgoing account funds (CREDIT_PAYMENT and EXPENSE funded by an account) by category ID.
+     */
+    Map<Long, long[]> accountOutflowCentsByCategory() {
+        return accountOutflowCentsByCategory;
+    }
+
+    /**
+     * @return The cents of EXPENSE charged to credit cards by category ID.
+     */
+    Map<Long, long[]> creditCardExpenseCentsByCategory() {
+        return creditCardExpenseCentsByCategory;
+    }
+
+    /**
+     * @return The IDs of every category present in the breakdowns, excluding the uncategorized category.
+     */
+    Set<Long> categoryIds() {
+        Set<Long> categoryIds = new HashSet<>(accountOutflowCentsByCategory.keySet());
+        categoryIds.addAll(creditCardExpenseCentsByCategory.keySet());
+        categoryIds.remove(TransactionMonthlyRollup.UNCATEGORIZED_CATEGORY_ID);
+        return categoryIds;
+    }
+
+    /**
+     * Converts accumulated cents back to an amount.
+     * @param cents The cents to convert.
+     * @return The amount with 2 decimals.
+     */
+    static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
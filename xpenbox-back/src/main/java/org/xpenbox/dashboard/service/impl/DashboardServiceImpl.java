@@ -1,19 +1,35 @@
 package org.xpenbox.dashboard.service.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
 import org.jboss.logging.Logger;
-import org.xpenbox.account.dto.AccountResponseDTO;
-import org.xpenbox.account.service.IAccountService;
+import org.xpenbox.account.repository.AccountRepository;
 import org.xpenbox.category.dto.CategoryResponseDTO;
 import org.xpenbox.category.entity.Category;
 import org.xpenbox.category.mapper.CategoryMapper;
+import org.xpenbox.category.repository.CategoryRepository;
+import org.xpenbox.common.DateFunctions;
+import org.xpenbox.common.HashFunctions;
 import org.xpenbox.creditcard.dto.CreditCardResponseDTO;
-import org.xpenbox.creditcard.service.ICreditCardService;
+import org.xpenbox.creditcard.mapper.CreditCardMapper;
+import org.xpenbox.creditcard.repository.CreditCardRepository;
 import org.xpenbox.dashboard.dto.DashboardCurrentPeriodDTO;
 import org.xpenbox.dashboard.dto.DashboardPeriodFilterDTO;
 import org.xpenbox.dashboard.dto.DashboardResponseDTO;
@@ -24,13 +40,21 @@ import org.xpenbox.enforcement.service.IPlanSnapshotService;
 import org.xpenbox.enforcement.service.IPlanValidatorService;
 import org.xpenbox.exception.ResourceNotFoundException;
 import org.xpenbox.transaction.dto.TransactionResponseDTO;
-import org.xpenbox.transaction.entity.Transaction;
-import org.xpenbox.transaction.entity.Transaction.TransactionType;
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup;
 import org.xpenbox.transaction.mapper.TransactionMapper;
 import org.xpenbox.transaction.repository.TransactionRepository;
+import org.xpenbox.transaction.service.ITransactionRollupService;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
-
+import org.xpenbox.user.service.IPrincipalService;
+import org.xpenbox.user.service.IUserDataVersionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 
 /**
@@ -38,40 +62,71 @@ import jakarta.enterprise.context.ApplicationScoped;
  * This service retrieves the necessary data from the repositories and services, performs calculations to generate the dashboard metrics, and returns a structured response DTO containing the dashboard data for both the current period and the selected period filter.
  * The dashboard data includes metrics such as current balance, opening balance, delta, credit used, credit limit, income total, expense total, net total, category breakdowns, and recent transactions, all calculated based on the user's financial data for the specified period.
  * The service also includes error handling to ensure that only authorized users can access their dashboard data, and logs relevant information for debugging and monitoring purposes.
+ * Responses are cached per user and period filter, keyed by the user's data version, so repeated requests are served from memory until the user's data changes.
  * Overall, this implementation provides a comprehensive and efficient way to generate the necessary data for displaying a financial dashboard to users based on their transactions, accounts, and credit cards for a given period filter.
  */
 @ApplicationScoped
 public class DashboardServiceImpl implements IDashboardService {
     private static final Logger LOG = Logger.getLogger(DashboardServiceImpl.class);
+    private static final int LAST_TRANSACTIONS_LIMIT = 10;
+
+    private record DashboardCacheKey(Long userId, PeriodFilter periodFilter, long dataVersion, LocalDate date) { }
+    private record BalanceTotals(BigDecimal currentBalance, BigDecimal creditUsed, BigDecimal creditLimit, List<CreditCardResponseDTO> creditCards) { }
 
-    private final UserRepository userRepository;
-    private final IAccountService accountService;
-    private final ICreditCardService creditCardService;
+    private final IPrincipalService principalService;
+    private final AccountRepository accountRepository;
+    private final CreditCardRepository creditCardRepository;
+    private final CreditCardMapper creditCardMapper;
     private final TransactionRepository transactionRepository;
+    private final ITransactionRollupService transactionRollupService;
+    private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final TransactionMapper transactionMapper;
     private final IPlanValidatorService planValidatorService;
     private final IPlanSnapshotService planSnapshotService;
+    private final IUserDataVersionService userDataVersionService;
+    private final Cache dashboardCache;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger activeFetches = new AtomicInteger();
     private final Category uncategorizedCategory;
 
+    @ConfigProperty(name = "dashboard.fetch.max.concurrent", defaultValue = "4")
+    private Integer maxConcurrentFetches;
+
+    private Semaphore fetchPermits;
+
     public DashboardServiceImpl(
-        UserRepository userRepository,
-        IAccountService accountService,
-        ICreditCardService creditCardService,
+        IPrincipalService principalService,
+        AccountRepository accountRepository,
+        CreditCardRepository creditCardRepository,
+        CreditCardMapper creditCardMapper,
         TransactionRepository transactionRepository,
+        ITransactionRollupService transactionRollupService,
+        CategoryRepository categoryRepository,
         CategoryMapper categoryMapper,
         TransactionMapper transactionMapper,
         IPlanValidatorService planValidatorService,
-        IPlanSnapshotService planSnapshotService
+        IPlanSnapshotService planSnapshotService,
+        IUserDataVersionService userDataVersionService,
+        @CacheName("dashboard-response") Cache dashboardCache,
+        MeterRegistry meterRegistry
     ) {
-        this.userRepository = userRepository;
-        this.accountService = accountService;
-        this.creditCardService = creditCardService;
+        this.principalService = principalService;
+        this.accountRepository = accountRepository;
+        this.creditCardRepository = creditCardRepository;
+        this.creditCardMapper = creditCardMapper;
         this.transactionRepository = transactionRepository;
+        this.transactionRollupService = transactionRollupService;
+        this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
         this.transactionMapper = transactionMapper;
         this.planValidatorService = planValidatorService;
         this.planSnapshotService = planSnapshotService;
+        this.userDataVersionService = userDataVersionService;
+        this.dashboardCache = dashboardCache;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("dashboard.fetch.active", activeFetches);
 
         // Initialize the uncategorized category with a default name and resource code
         this.uncategorizedCategory = new Category();
@@ -83,34 +138,94 @@ public class DashboardServiceImpl implements IDashboardService {
 
     @Override
     public DashboardResponseDTO generateDashboardData(PeriodFilter periodFilter, String userEmail) {
-        LOG.infof("Validating plan limits for user: %s and period filter: %s", userEmail, periodFilter);
+        validatePlanLimits(periodFilter, userEmail);
 
-        SnapshotPlanDTO snapshot = planSnapshotService.getPlanSnapshotByEmail(userEmail);
-        planValidatorService.validateCanUseAdvancedDashboardFilters(snapshot, periodFilter);
-        
-        LOG.infof("Generating dashboard data for user: %s with period filter: %s", userEmail, periodFilter);  
+        User user = principalService.findUserByEmail(userEmail)
+        .orElseThrow(() -> {
+            LOG.errorf("User not found with email: %s", userEmail);
+            return new ResourceNotFoundException("User not found with email: " + userEmail);
+        });
+
+        DashboardCacheKey cacheKey = buildCacheKey(user.id, periodFilter);
+        return dashboardCache.get(cacheKey, key -> buildDashboardData(periodFilter, user, userEmail))
+            .await().indefinitely();
+    }
+
+    @Override
+    public String getDashboardVersionTag(PeriodFilter periodFilter, String userEmail) {
+        validatePlanLimits(periodFilter, userEmail);
 
-        User user = userRepository.findByEmail(userEmail)
+        Long userId = principalService.findUserIdByEmail(userEmail)
         .orElseThrow(() -> {
             LOG.errorf("User not found with email: %s", userEmail);
             return new ResourceNotFoundException("User not found with email: " + userEmail);
         });
 
+        return HashFunctions.sha256Hex(buildCacheKey(userId, periodFilter).toString());
+    }
+
+    /**
+     * Validates that the plan of the user allows the requested period filter.
+     * @param periodFilter The requested period filter.
+     * @param userEmail The email of the user requesting the dashboard data.
+     */
+    private void validatePlanLimits(PeriodFilter periodFilter, String userEmail) {
+        LOG.infof("Validating plan limits for user: %s and period filter: %s", userEmail, periodFilter);
+
+        SnapshotPlanDTO snapshot = planSnapshotService.getPlanSnapshotByEmail(userEmail);
+        planValidatorService.validateCanUseAdvancedDashboardFilters(snapshot, periodFilter);
+    }
+
+    /**
+     * Builds the cache key of the dashboard of a user. The key changes whenever the data version of the user is bumped, and on every new day, since the period ranges are relative to the current date.
+     * @param userId The ID of the user.
+     * @param periodFilter The requested period filter.
+     * @return The cache key of the dashboard.
+     */
+    private DashboardCacheKey buildCacheKey(Long userId, PeriodFilter periodFilter) {
+        return new DashboardCacheKey(
+            userId,
+            periodFilter,
+            userDataVersionService.getVersion(userId),
+            DateFunctions.currentLocalDateTime().toLocalDate()
+        );
+    }
+
+    /**
+     * Computes the dashboard data of a user, used when the dashboard is not cached for the current data version.
+     * The balance totals and the latest transactions are fetched concurrently on virtual threads, each in its own short transaction,
+     * while the period rollups and their categories are read on the calling thread; the results are joined before assembly.
+     * @param periodFilter The selected period filter.
+     * @param user The user for whom the dashboard is generated.
+     * @param userEmail The email of the user, used for logging.
+     * @return A DTO containing the generated dashboard data.
+     */
+    private DashboardResponseDTO buildDashboardData(PeriodFilter periodFilter, User user, String userEmail) {
+        LOG.infof("Generating dashboard data for user: %s with period filter: %s", userEmail, periodFilter);
+
+        Long userId = user.id;
         Map<String, LocalDateTime> dateRange = PeriodFilter.getDateRange(periodFilter);
-        List<AccountResponseDTO> accounts = accountService.getAll(userEmail);
-        List<CreditCardResponseDTO> creditCards = creditCardService.getAll(userEmail);
-        List<Transaction> transactions = transactionRepository.findByUserIdAndPeriodRange(user.id, dateRange.get("from"), dateRange.get("to"));
-        
+        LocalDateTime from = dateRange.get("from");
+        LocalDateTime to = dateRange.get("to");
+
+        CompletableFuture<BalanceTotals> balanceTotalsFuture = fetchAsync("balance-totals", () -> fetchBalanceTotals(userId));
+        CompletableFuture<List<TransactionResponseDTO>> lastTransactionsFuture = fetchAsync("latest-transactions", () -> fetchLastTransactions(userId, from, to));
+
+        List<TransactionMonthlyRollup> rollups = transactionRollupService.findByUserIdAndPeriodRange(userId, from, to);
+        DashboardRollupAggregator aggregator = DashboardRollupAggregator.aggregate(rollups);
+        Map<Long, Category> categories = findCategories(aggregator.categoryIds(), user);
+
         DashboardCurrentPeriodDTO currentPeriodDashboard = generateCurrentPeriodDashboard(
             periodFilter,
-            accounts,
-            creditCards,
-            transactions
+            join(balanceTotalsFuture),
+            aggregator.netTotal()
         );
 
         DashboardPeriodFilterDTO periodFilterDashboard = generatePeriodFilterDashboard(
             periodFilter,
-            transactions
+            aggregator,
+            categories,
+            join(lastTransactionsFuture)
         );
 
         return new DashboardResponseDTO(currentPeriodDashboard, periodFilterDashboard);
@@ -119,25 +234,24 @@ public class DashboardServiceImpl implements IDashboardService {
     /**
      * Generates the dashboard data specific to the selected period filter, including totals and breakdowns.
      * @param periodFilter The selected period filter for which to generate the dashboard data.
-     * @param transactions The list of transactions for the selected period, used to calculate totals and breakdowns.
+     * @param aggregator The aggregated rollups of the selected period, holding the totals and per-category amounts.
+     * @param categories The categories of the breakdowns, keyed by ID.
+     * @param lastTransactions The most recent transactions for the selected period, already sorted by transaction date in descending order.
      * @return A DTO containing the calculated totals and breakdowns for the selected period filter.
      */
     private DashboardPeriodFilterDTO generatePeriodFilterDashboard(
         PeriodFilter periodFilter,
-        List<Transaction> transactions
+        DashboardRollupAggregator aggregator,
+        Map<Long, Category> categories,
+        List<TransactionResponseDTO> lastTransactions
     ) {
-        BigDecimal incomeTotal = calculateIncomeTotal(transactions);
-        BigDecimal expenseTotal = calculateExpenseTotal(transactions);
-        BigDecimal netTotal = netCashflow(transactions);
-        List<Transaction> transactionsNormalized = normalizeTransactions(transactions);
-        List<CategoryResponseDTO> categoryBreakdown = groupTransactionsByCategory(transactionsNormalized);
-        List<CategoryResponseDTO> categoryBreakdownCard = groupTransactionsCreditCardByCategory(transactionsNormalized);
-        List<TransactionResponseDTO> lastTransactions = getLastTransactions(transactions, 10);
+        List<CategoryResponseDTO> categoryBreakdown = toCategoryBreakdown(aggregator.accountOutflowCentsByCategory(), categories);
+        List<CategoryResponseDTO> categoryBreakdownCard = toCategoryBreakdown(aggregator.creditCardExpenseCentsByCategory(), categories);
 
         return new DashboardPeriodFilterDTO(
-            incomeTotal,
-            expenseTotal,
-            netTotal,
+            aggregator.incomeTotal(),
+            aggregator.expenseTotal(),
+            aggregator.netTotal(),
             categoryBreakdown,
             categoryBreakdownCard,
             lastTransactions
@@ -147,213 +261,140 @@ public class DashboardServiceImpl implements IDashboardService {
     /**
      * Generates the dashboard data for the current period, including current balance, opening balance, delta, credit used, and credit limit.
      * @param periodFilter The selected period filter for which to generate the dashboard data (used to determine if opening balance should be calculated).
-     * @param accounts The list of account DTOs for the user, used to calculate current balance.
-     * @param creditCards The list of credit card DTOs for the user, used to calculate credit used and credit limit.
-     * @param transactions The list of transactions for the current month, used to calculate opening balance if the period filter is CURRENT_MONTH. 
+     * @param balanceTotals The account and credit card totals of the user, with the credit cards already sorted by current balance.
+     * @param netCashflow The net cashflow of the selected period, used to calculate the opening balance.
      * @return A DTO containing the calculated current balance, opening balance, delta, credit used, credit limit, and sorted credit card information for the current period.
      */
     private DashboardCurrentPeriodDTO generateCurrentPeriodDashboard(
         PeriodFilter periodFilter,
-        List<AccountResponseDTO> accounts,
-        List<CreditCardResponseDTO> creditCards,
-        List<Transaction> transactions
+        BalanceTotals balanceTotals,
+        BigDecimal netCashflow
     ) {
-        BigDecimal currentBalance = calculateCurrentBalance(accounts);
-        BigDecimal openingBalance = currentBalance.subtract(netCashflow(transactions));
+        BigDecimal currentBalance = balanceTotals.currentBalance();
+        BigDecimal openingBalance = currentBalance.subtract(netCashflow);
         BigDecimal deltaBalance = currentBalance.subtract(openingBalance);
-        BigDecimal creditUsed = calculateCreditUsed(creditCards);
-        BigDecimal creditLimit = calculateCreditLimit(creditCards);
-        List<CreditCardResponseDTO> sortedCreditCards = sortCreditCardsByBalance(creditCards);
 
         return new DashboardCurrentPeriodDTO(
             currentBalance,
             openingBalance,
             deltaBalance,
-            creditUsed,
-            creditLimit,
-            sortedCreditCards
+            balanceTotals.creditUsed(),
+            balanceTotals.creditLimit(),
+            balanceTotals.creditCards()
         );
     }
 
     /**
-     * Calculates the current balance by summing the balances of all accounts.
-     * @param accounts The list of account DTOs for the user, used to calculate current balance.
-     * @return The calculated current balance as a BigDecimal.
+     * Fetches the account and credit card totals of a user. The totals are summed by the database, so accounts are never loaded and credit cards are only loaded once, already sorted, for the response.
+     * @param userId The ID of the user.
+     * @return The balance totals of the user.
      */
-    private BigDecimal calculateCurrentBalance(List<AccountResponseDTO> accounts) {
-        return accounts.stream()
-            .map(AccountResponseDTO::balance)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
+    private BalanceTotals fetchBalanceTotals(Long userId) {
+        BigDecimal currentBalance = accountRepository.sumActiveBalanceByUserId(userId);
+        BigDecimal[] creditTotals = creditCardRepository.sumActiveCurrentBalanceAndCreditLimitByUserId(userId);
+        List<CreditCardResponseDTO> sortedCreditCards = creditCardMapper.toDTOList(
+            creditCardRepository.findAllActiveByUserIdOrderByCurrentBalanceDesc(userId));
 
-    /**
-     * Calculates the net cashflow by iterating through the transactions and summing the amounts based on their transaction type. INCOME transactions contribute positively to the net cashflow, while EXPENSE and CREDIT_PAYMENT transactions with an associated account contribute negatively. Transactions that do not fit these criteria are ignored in the net cashflow calculation.
-     * @param transactions The list of transactions for the selected period, used to calculate net cashflow by summing amounts based on transaction types.
-     * @return The calculated net cashflow as a BigDecimal, representing the overall cash inflow or outflow for the selected period filter.
-     */
-    private BigDecimal netCashflow(List<Transaction> transactions) {
-        return transactions.stream()
-                    .map(t -> switch (t.getTransactionType()) {
-                        case INCOME -> t.getAmount();
-                        case EXPENSE, CREDIT_PAYMENT -> t.getAccount() != null ? t.getAmount().negate() : BigDecimal.ZERO;
-                        default -> BigDecimal.ZERO;
-                    })
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new BalanceTotals(currentBalance, creditTotals[0], creditTotals[1], sortedCreditCards);
     }
 
     /**
-     * Calculates the total credit used by summing the current balances of all credit cards.
-     * @param creditCards The list of credit card DTOs for the user, used to calculate credit used by summing their current balances.
-     * @return The calculated total credit used as a BigDecimal.
+     * Fetches the most recent transactions of a user for a period, mapped before the session that loaded them is closed.
+     * @param userId The ID of the user.
+     * @param from The start of the period.
+     * @param to The end of the period.
+     * @return The most recent transactions as DTOs, sorted by transaction date in descending order.
      */
-    private BigDecimal calculateCreditUsed(List<CreditCardResponseDTO> creditCards) {
-        return creditCards.stream()
-            .map(CreditCardResponseDTO::currentBalance)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private List<TransactionResponseDTO> fetchLastTransactions(Long userId, LocalDateTime from, LocalDateTime to) {
+        return transactionRepository.findLatestByUserIdAndPeriodRange(userId, from, to, LAST_TRANSACTIONS_LIMIT).stream()
+            .map(transactionMapper::toSimpleDTO)
+            .collect(Collectors.toList());
     }
 
-    /**
-     * Calculates the total credit limit by summing the credit limits of all credit cards.
-     * @param creditCards The list of credit card DTOs for the user, used to calculate total credit limit by summing their credit limits.
-     * @return The calculated total credit limit as a BigDecimal.
-     */
-    private BigDecimal calculateCreditLimit(List<CreditCardResponseDTO> creditCards) {
-        return creditCards.stream()
-            .map(CreditCardResponseDTO::creditLimit)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @PostConstruct
+    void initFetchPermits() {
+        fetchPermits = new Semaphore(maxConcurrentFetches);
     }
 
     /**
-     * Sorts the list of credit cards by their current balance in descending order, so that the credit card with the highest current balance appears first in the list.
-     * @param creditCards The list of credit card DTOs for the user, used to sort by their current balances.
-     * @return A new list of credit card DTOs sorted by current balance in descending order.
+     * Runs a read on a virtual thread, in its own short transaction so it gets its own session and connection. The session is
+     * read-only, so loaded entities keep no snapshot for dirty checking, and a semaphore bounds the reads running at once across
+     * requests, so the fan-out never takes more connections from the pool than configured. Each read is timed under the
+     * "dashboard.fetch" metric and counted in "dashboard.fetch.active" while it runs, to compare the fan-out with the connection pool size.
+     * @param name The name of the read, used as metric tag.
+     * @param fetch The read to run.
+     * @return A future completed with the result of the read.
      */
-    private List<CreditCardResponseDTO> sortCreditCardsByBalance(List<CreditCardResponseDTO> creditCards) {
-        return creditCards.stream()
-            .sorted((c1, c2) -> c2.currentBalance().compareTo(c1.currentBalance()))
-            .collect(Collectors.toList());
+    private <T> CompletableFuture<T> fetchAsync(String name, Supplier<T> fetch) {
+        Timer timer = Timer.builder("dashboard.fetch").tag("query", name).register(meterRegistry);
+        return CompletableFuture.supplyAsync(() -> {
+            fetchPermits.acquireUninterruptibly();
+            activeFetches.incrementAndGet();
+            try {
+                return timer.record(() -> QuarkusTransaction.requiringNew().call(() -> {
+                    transactionRepository.getEntityManager().unwrap(Session.class).setDefaultReadOnly(true);
+                    return fetch.get();
+                }));
+            } finally {
+                activeFetches.decrementAndGet();
+                fetchPermits.release();
+            }
+        }, fetchExecutor);
     }
 
     /**
-     * Calculates the total income by filtering the transactions for those of type INCOME and summing their amounts.
-     * @param transactions The list of transactions for the selected period, used to filter for INCOME transactions and sum their amounts to calculate total income.
-     * @return The calculated total income as a BigDecimal.
+     * Waits for a concurrent read, rethrowing its original exception so it is handled like any other service error.
+     * @param future The future of the read.
+     * @return The result of the read.
      */
-    private BigDecimal calculateIncomeTotal(List<Transaction> transactions) {
-        return transactions.stream()
-            .filter(t -> t.getTransactionType() == TransactionType.INCOME)
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
-    /**
-     * Calculates the total expenses by filtering the transactions for those of type EXPENSE with an associated account or of type CREDIT_PAYMENT, and summing their amounts.
-     * @param transactions The list of transactions for the selected period, used to filter for EXPENSE transactions with an associated account or CREDIT_PAYMENT transactions, and sum their amounts to calculate total expenses.
-     * @return The calculated total expenses as a BigDecimal.
-     */
-    private BigDecimal calculateExpenseTotal(List<Transaction> transactions) {
-        return transactions.stream()
-            .filter(t -> t.getTransactionType() == TransactionType.CREDIT_PAYMENT || (t.getTransactionType() == TransactionType.EXPENSE && t.getAccount() != null))
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @PreDestroy
+    void shutdownFetchExecutor() {
+        fetchExecutor.shutdown();
     }
 
     /**
-     * Groups the transactions by their associated category, summing the amounts for each category to create a breakdown of expenses by category. Only transactions of type CREDIT_PAYMENT or EXPENSE with an associated account are included in the grouping, as these represent outgoing funds that should be categorized for the dashboard breakdown.
-     * @param transactions The list of transactions for the selected period, used to filter for relevant transactions and group them by their associated category to calculate the total amount for each category for the dashboard breakdown.
-     * @return A list of CategoryResponseDTOs representing the breakdown of expenses by category, sorted by amount in descending order. Each DTO includes the category information and the total amount for that category.
+     * Loads the categories of the breakdowns in a single query, mapping the uncategorized category ID (0) to the default "Sin categoría" category.
+     * @param categoryIds The IDs of the categories to load, excluding the uncategorized category.
+     * @param user The user owning the categories.
+     * @return A map of category ID to category, including the uncategorized category.
      */
-    private List<CategoryResponseDTO> groupTransactionsByCategory(List<Transaction> transactions) {
-
-        Map<Category, BigDecimal> categoryTotals = transactions.stream()
-            .filter(t ->
-                t.getCategory() != null &&
-                (
-                    t.getTransactionType() == TransactionType.CREDIT_PAYMENT ||
-                    (t.getTransactionType() == TransactionType.EXPENSE && t.getAccount() != null)
-                )
-            )
-            .collect(Collectors.groupingBy(
-                Transaction::getCategory,
-                Collectors.reducing(
-                    BigDecimal.ZERO,
-                    Transaction::getAmount,
-                    BigDecimal::add
-                )
-            ));
-
-        return categoryTotals.entrySet().stream()
-            .map(entry ->
-                categoryMapper.toDTOReport(
-                    entry.getKey(),
-                    entry.getValue()
-                )
-            )
-            .sorted((c1, c2) -> c2.amount().compareTo(c1.amount()))
-            .collect(Collectors.toList());
+    private Map<Long, Category> findCategories(Set<Long> categoryIds, User user) {
+        Map<Long, Category> categories = new HashMap<>();
+        categoryRepository.findByIdsAndUserId(categoryIds, user.id)
+            .forEach(category -> categories.put(category.id, category));
+        categories.put(TransactionMonthlyRollup.UNCATEGORIZED_CATEGORY_ID, this.uncategorizedCategory);
+        return categories;
     }
 
     /**
-     * Groups the transactions by their associated category, summing the amounts for each category to create a breakdown of expenses by category. Only transactions of type EXPENSE with an associated creditcard are included in the grouping, as these represent outgoing funds that should be categorized for the dashboard breakdown.
-     * @param transactions The list of transactions for the selected period, used to filter for relevant transactions and group them by their associated category to calculate the total amount for each category for the dashboard breakdown.
+     * Converts per-category cents into a breakdown of expenses by category. Amounts of categories that no longer exist are reported under the default "Sin categoría" category.
+     * @param centsByCategory The accumulated cents by category ID.
+     * @param categories The categories of the breakdown, keyed by ID.
      * @return A list of CategoryResponseDTOs representing the breakdown of expenses by category, sorted by amount in descending order. Each DTO includes the category information and the total amount for that category.
      */
-    private List<CategoryResponseDTO> groupTransactionsCreditCardByCategory(List<Transaction> transactions) {
-
-        Map<Category, BigDecimal> categoryTotals = transactions.stream()
-            .filter(t ->
-                t.getCategory() != null &&
-                (
-                    t.getTransactionType() == TransactionType.EXPENSE && t.getCreditCard() != null
-                )
-            )
-            .collect(Collectors.groupingBy(
-                Transaction::getCategory,
-                Collectors.reducing(
-                    BigDecimal.ZERO,
-                    Transaction::getAmount,
-                    BigDecimal::add
-                )
-            ));
-
-        return categoryTotals.entrySet().stream()
-            .map(entry ->
-                categoryMapper.toDTOReport(
-                    entry.getKey(),
-                    entry.getValue()
-                )
-            )
-            .sorted((c1, c2) -> c2.amount().compareTo(c1.amount()))
-            .collect(Collectors.toList());
-    }
-
-    /**
-     * Gets the last transactions for the selected period by sorting the transactions by their transaction date in descending order and limiting the results to a specified number (e.g., 10). Only transactions of type CREDIT_PAYMENT or EXPENSE with an associated account are included in the list of last transactions, as these represent outgoing funds that are typically more relevant for users to see in a recent transactions list on the dashboard.
-     * @param transactions The list of transactions for the selected period, used to filter for relevant transactions, sort them by transaction date, and limit the results to get the most recent transactions for display on the dashboard.
-     * @param limit The maximum number of recent transactions to return, used to limit the results to a manageable number for display on the dashboard (e.g., 10).
-     * @return A list of TransactionResponseDTOs representing the most recent transactions for the selected period, sorted by transaction date in descending order and limited to the specified number. Each DTO includes the transaction information relevant for display on the dashboard.
-     */
-    private List<TransactionResponseDTO> getLastTransactions(List<Transaction> transactions, int limit) {
-        return transactions.stream()
-            .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-            .limit(limit)
-            .map(transactionMapper::toSimpleDTO)
-            .collect(Collectors.toList());
-    }
+    private List<CategoryResponseDTO> toCategoryBreakdown(Map<Long, long[]> centsByCategory, Map<Long, Category> categories) {
+        Map<Category, long[]> centsByResolvedCategory = new HashMap<>();
+        centsByCategory.forEach((categoryId, cents) -> {
+            Category category = categories.getOrDefault(categoryId, this.uncategorizedCategory);
+            centsByResolvedCategory.computeIfAbsent(category, c -> new long[1])[0] += cents[0];
+        });
 
-    /**
-     * Normalizes the transactions by ensuring that all transactions have an associated category. If a transaction does not have a category, it assigns a default "Sin categoría" category to it. This normalization step is important to ensure that all transactions can be properly categorized and included in the category breakdowns on the dashboard, even if they were originally created without an associated category.
-     * @param transactions The list of transactions for the selected period, used to check for transactions without an associated category and assign a default category to them for proper categorization in the dashboard breakdowns.
-     * @return  A new list of transactions where any transaction that originally did not have an associated category now has a default "Sin categoría" category assigned to it, ensuring that all transactions can be categorized for the dashboard breakdowns.
-     */
-    private List<Transaction> normalizeTransactions(List<Transaction> transactions) {
-        return transactions.stream()
-            .map(t -> {
-                if (t.getCategory() == null) {
-                    t.setCategory(this.uncategorizedCategory);
-                }
-                return t;
-            })
-            .collect(Collectors.toList());
+        List<CategoryResponseDTO> breakdown = new ArrayList<>(centsByResolvedCategory.size());
+        centsByResolvedCategory.forEach((category, cents) ->
+            breakdown.add(categoryMapper.toDTOReport(category, DashboardRollupAggregator.toAmount(cents[0])))
+        );
+        breakdown.sort((c1, c2) -> c2.amount().compareTo(c1.amount()));
+        return breakdown;
     }
 }
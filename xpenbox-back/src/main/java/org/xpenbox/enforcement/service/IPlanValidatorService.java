@@ -37,6 +37,13 @@ public interface IPlanValidatorService {
      */
     void validateCanCreateTransactions(SnapshotPlanDTO snapshot);
 
+    /**
+     * Validates whether the user can create more transactions based on their current plan limits, and returns how many more can be created. If the user has reached the limit for creating transactions, an exception should be thrown.
+     * @param snapshot the SnapshotPlanDTO containing the current plan information for the user
+     * @return the number of transactions the user can still create in the current period, Long.MAX_VALUE if the plan has no limit
+     */
+    long getRemainingTransactions(SnapshotPlanDTO snapshot);
+
     /**
      * Validates whether the user can use advanced transaction filters based on their current plan limits. If the user has reached the limit for using advanced transaction filters, an exception should be thrown.
      * @param snapshot the SnapshotPlanDTO containing the current plan information for the user
@@ -6,8 +6,7 @@ import org.xpenbox.enforcement.service.IPlanSnapshotService;
 import org.xpenbox.exception.ResourceNotFoundException;
 import org.xpenbox.payment.dto.SubscriptionResponseDTO;
 import org.xpenbox.payment.service.ISubscriptionService;
-import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
 
 import io.quarkus.cache.CacheInvalidate;
 import io.quarkus.cache.CacheResult;
@@ -21,14 +20,14 @@ public class PlanSnapshotServiceImpl implements IPlanSnapshotService {
     private static final Logger LOG = Logger.getLogger(PlanSnapshotServiceImpl.class);
     
     private final ISubscriptionService subscriptionService;
-    private final UserRepository userRepository;
+    private final IPrincipalService principalService;
 
     public PlanSnapshotServiceImpl(
         ISubscriptionService subscriptionService,
-        UserRepository userRepository
+        IPrincipalService principalService
     ) {
         this.subscriptionService = subscriptionService;
-        this.userRepository = userRepository;
+        this.principalService = principalService;
     }
 
     @Override
@@ -36,13 +35,13 @@ public class PlanSnapshotServiceImpl implements IPlanSnapshotService {
     public SnapshotPlanDTO getPlanSnapshotByEmail(String email) {
         LOG.infof("Retrieving plan snapshot for email: %s", email);
 
-        User user = userRepository.findByEmail(email)
+        Long userId = principalService.findUserIdByEmail(email)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
 
         SubscriptionResponseDTO subscriptionResponseDTO = subscriptionService.getActiveSubscription(email);
 
         return new SnapshotPlanDTO(
-            user.id,
+            userId,
             subscriptionResponseDTO.plan()
         );
     }
@@ -81,6 +81,16 @@ public class PlanValidatorServiceImpl implements IPlanValidatorService {
             () -> planUsageService.countUserTransactionsInCurrentPeriod(snapshot.userId())
         );
     }
+
+    @Override
+    public long getRemainingTransactions(SnapshotPlanDTO snapshot) {
+        return validateResourceLimit(
+            snapshot,
+            FeatureCodeEnum.TRANSACTIONS_LIMIT,
+            "transactions",
+            () -> planUsageService.countUserTransactionsInCurrentPeriod(snapshot.userId())
+        );
+    }
     
     @Override
     public TransactionFilterDTO validateTransactionFilterDTO(SnapshotPlanDTO snapshot, TransactionFilterDTO filter) {
@@ -135,7 +145,9 @@ public class PlanValidatorServiceImpl implements IPlanValidatorService {
             filter.accountResourceCode(),
             filter.creditCardResourceCode(),
             filter.pageNumber(),
-            filter.pageSize()
+            filter.pageSize(),
+            filter.cursor(),
+            filter.includeTotal()
         );
     }
 
@@ -181,8 +193,9 @@ public class PlanValidatorServiceImpl implements IPlanValidatorService {
      * @param featureCode   The feature code to validate
      * @param resourceName  Human-readable name of the resource (e.g., "accounts", "credit cards")
      * @param usageCounter  Supplier that returns the current usage count
+     * @return The number of resources that can still be created, Long.MAX_VALUE if the feature has no limit
      */
-    private void validateResourceLimit(
+    private long validateResourceLimit(
             SnapshotPlanDTO snapshot,
             FeatureCodeEnum featureCode,
             String resourceName,
@@ -199,7 +212,7 @@ public class PlanValidatorServiceImpl implements IPlanValidatorService {
 
         if (feature.limitValue() == null) {
             LOG.debugf("Feature %s is enabled but has no limit", featureCode);
-            return;
+            return Long.MAX_VALUE;
         }
 
         Long limit = feature.limitValue();
@@ -216,5 +229,6 @@ public class PlanValidatorServiceImpl implements IPlanValidatorService {
         }
         
         LOG.debugf("User %d has not reached the %s limit: %d/%d", snapshot.userId(), resourceName, currentUsage, limit);
+        return limit - currentUsage;
     }
 }
@@ -0,0 +1,14 @@
+package org.xpenbox.exception;
+
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Exception thrown when a request cannot be served now because too many similar requests are in progress.
+ * Maps to HTTP 429 Too Many Requests status.
+ */
+public class TooManyRequestsException extends BussinessException {
+
+    public TooManyRequestsException(String message) {
+        super(message, Response.Status.TOO_MANY_REQUESTS.getStatusCode());
+    }
+}
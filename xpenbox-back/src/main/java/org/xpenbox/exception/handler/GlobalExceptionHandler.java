@@ -10,6 +10,7 @@ import org.xpenbox.exception.ForbiddenException;
 import org.xpenbox.exception.InsufficientFoundsException;
 import org.xpenbox.exception.PlanException;
 import org.xpenbox.exception.ResourceNotFoundException;
+import org.xpenbox.exception.TooManyRequestsException;
 import org.xpenbox.exception.UnauthorizedException;
 import org.xpenbox.exception.UnprocessableContentException;
 import org.xpenbox.exception.ValidationException;
@@ -77,6 +78,10 @@ public class GlobalExceptionHandler implements ExceptionMapper<Throwable> {
             return handleUnprocessableContentException(ex);
         }
 
+        if (exception instanceof TooManyRequestsException ex) {
+            return handleTooManyRequestsException(ex);
+        }
+
         if (exception instanceof WebApplicationException ex) {
             return handleWebApplicationException(ex);
         }
@@ -121,6 +126,19 @@ public class GlobalExceptionHandler implements ExceptionMapper<Throwable> {
         return Response.status(UnprocessableContentException.UNPROCESSABLE_ENTITY_STATUS_CODE).entity(response).build();
     }
 
+    private Response handleTooManyRequestsException(TooManyRequestsException ex) {
+        LOG.warn("Too many requests: " + ex.getMessage());
+        String message = "Too many requests";
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Exception details: ", ex);
+            message += ": " + ex.getMessage();
+        }
+
+        APIResponseDTO<Void> response = APIResponseDTO.error(message, Response.Status.TOO_MANY_REQUESTS.getStatusCode());
+        return Response.status(Response.Status.TOO_MANY_REQUESTS).entity(response).build();
+    }
+
     private Response handleInsufficientFoundsException(InsufficientFoundsException ex) {
         LOG.warn("Insufficient funds error: " + ex.getMessage());
         String message = "Insufficient funds to complete the transaction";
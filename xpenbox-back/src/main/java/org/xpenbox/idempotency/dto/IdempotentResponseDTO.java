@@ -0,0 +1,17 @@
+package org.xpenbox.idempotency.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for the stored response of a request sent with an Idempotency-Key header.
+ * @param requestHash the hash of the request that produced the response, a retry must send the same request
+ * @param status the HTTP status of the response
+ * @param body the serialized body of the response, or null when it has no body
+ * @param expiresAt the date after which the key can be used again
+ */
+public record IdempotentResponseDTO(
+    String requestHash,
+    int status,
+    String body,
+    LocalDateTime expiresAt
+) { }
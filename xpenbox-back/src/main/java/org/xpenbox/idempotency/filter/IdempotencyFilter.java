@@ -0,0 +1,149 @@
+package org.xpenbox.idempotency.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.jboss.logging.Logger;
+import org.xpenbox.common.HashFunctions;
+import org.xpenbox.exception.BadRequestException;
+import org.xpenbox.idempotency.dto.IdempotentResponseDTO;
+import org.xpenbox.idempotency.service.IIdempotencyService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * IdempotencyFilter is a JAX-RS filter applied to the endpoints annotated with Idempotent. When a request carries an
+ * Idempotency-Key header, the key is scoped to the authenticated user and the endpoint (method and path) and reserved
+ * before the endpoint runs; a key already used by a successful request makes the filter return the stored response,
+ * marked with the Idempotent-Replayed header, without running the endpoint again. Successful responses are stored when
+ * the endpoint returns, and any other response releases the key so the request can be retried with it.
+ */
+@Provider
+@Idempotent
+@Priority(Priorities.USER)
+public class IdempotencyFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    private static final Logger LOG = Logger.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String KEY_HASH_PROPERTY = IdempotencyFilter.class.getName() + ".keyHash";
+    private static final String REQUEST_HASH_PROPERTY = IdempotencyFilter.class.getName() + ".requestHash";
+    private static final String OWNER_TOKEN_PROPERTY = IdempotencyFilter.class.getName() + ".ownerToken";
+
+    private final IIdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IIdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reserves the idempotency key of the request, or aborts the request with the stored response of the key.
+     * @param requestContext The context of the incoming request
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        String idempotencyKey = requestContext.getHeaderString(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey == null) {
+            return;
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Principal principal = requestContext.getSecurityContext().getUserPrincipal();
+        if (principal == null) {
+            LOG.debug("Request is anonymous, skipping idempotency key");
+            return;
+        }
+
+        String endpoint = requestContext.getMethod() + " " + requestContext.getUriInfo().getPath();
+        String keyHash = HashFunctions.sha256Hex(principal.getName() + "\n" + endpoint + "\n" + idempotencyKey);
+        String requestHash = HashFunctions.sha256Hex(endpoint + "\n" + readBody(requestContext));
+
+        String ownerToken = UUID.randomUUID().toString();
+
+        Optional<IdempotentResponseDTO> storedResponse = idempotencyService.begin(keyHash, requestHash, ownerToken);
+        if (storedResponse.isPresent()) {
+            LOG.infof("Replaying stored response of %s for user: %s", endpoint, principal.getName());
+            requestContext.abortWith(toResponse(storedResponse.get()));
+            return;
+        }
+
+        requestContext.setProperty(KEY_HASH_PROPERTY, keyHash);
+        requestContext.setProperty(REQUEST_HASH_PROPERTY, requestHash);
+        requestContext.setProperty(OWNER_TOKEN_PROPERTY, ownerToken);
+    }
+
+    /**
+     * Stores the response of a request that reserved its idempotency key, or releases the key if the request did not succeed.
+     * @param requestContext The context of the request
+     * @param responseContext The context of the response
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        String keyHash = (String) requestContext.getProperty(KEY_HASH_PROPERTY);
+        if (keyHash == null) {
+            return;
+        }
+
+        String ownerToken = (String) requestContext.getProperty(OWNER_TOKEN_PROPERTY);
+        try {
+            if (responseContext.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+                LOG.debugf("Request failed with status %d, releasing idempotency key", responseContext.getStatus());
+                idempotencyService.release(keyHash, ownerToken);
+                return;
+            }
+
+            String body = responseContext.hasEntity() ? objectMapper.writeValueAsString(responseContext.getEntity()) : null;
+            idempotencyService.complete(keyHash, ownerToken, (String) requestContext.getProperty(REQUEST_HASH_PROPERTY), responseContext.getStatus(), body);
+        } catch (Exception e) {
+            // The request itself already finished, the key stays reserved until its lock times out
+            LOG.errorf(e, "Failed to store the response of idempotency key: %s", keyHash);
+        }
+    }
+
+    /**
+     * Reads the body of the request and puts it back, so the endpoint can still read it.
+     */
+    private String readBody(ContainerRequestContext requestContext) {
+        if (!requestContext.hasEntity()) {
+            return "";
+        }
+
+        try {
+            byte[] body = requestContext.getEntityStream().readAllBytes();
+            requestContext.setEntityStream(new ByteArrayInputStream(body));
+            return new String(body, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read the request body", e);
+        }
+    }
+
+    private Response toResponse(IdempotentResponseDTO storedResponse) {
+        Response.ResponseBuilder builder = Response.status(storedResponse.status())
+            .header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        if (storedResponse.body() != null) {
+            builder.entity(storedResponse.body()).type(MediaType.APPLICATION_JSON);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,17 @@
+package org.xpenbox.idempotency.filter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.ws.rs.NameBinding;
+
+/**
+ * Enables the Idempotency-Key header on the annotated endpoint. A request sent again with the same key gets the response
+ * of the first successful request, without running the endpoint again. Requests without the header are not affected.
+ */
+@NameBinding
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent { }
@@ -0,0 +1,128 @@
+package org.xpenbox.idempotency.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.hibernate.query.NativeQuery;
+import org.jboss.logging.Logger;
+import org.xpenbox.idempotency.entity.IdempotencyRecord;
+import org.xpenbox.idempotency.entity.IdempotencyRecord.IdempotencyStatus;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Parameters;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Repository for managing IdempotencyRecord entities. A key is reserved with a single INSERT IGNORE, so when several
+ * requests with the same key arrive at once, on this node or on others, exactly one of them reserves it.
+ */
+@ApplicationScoped
+public class IdempotencyRecordRepository implements PanacheRepositoryBase<IdempotencyRecord, String> {
+    private static final Logger LOG = Logger.getLogger(IdempotencyRecordRepository.class);
+
+    /**
+     * Reserves a key for a request by creating its IN_PROGRESS record, unless a record already exists for the key.
+     *
+     * @param keyHash the hash identifying the key
+     * @param requestHash the hash of the request
+     * @param ownerToken the token identifying the request that reserves the key
+     * @param createdDate the date the request started
+     * @param expiresAt the date the record expires
+     * @return true if the key was reserved, false if a record already exists for the key
+     */
+    public boolean reserve(String keyHash, String requestHash, String ownerToken, LocalDateTime createdDate, LocalDateTime expiresAt) {
+        LOG.debugf("Reserving idempotency key: %s", keyHash);
+
+        int inserted = getEntityManager().createNativeQuery("""
+            INSERT IGNORE INTO tbl_idempotency_record (key_hash, request_hash, owner_token, status, created_date, expires_at)
+            VALUES (:keyHash, :requestHash, :ownerToken, :status, :createdDate, :expiresAt)
+            """)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(IdempotencyRecord.class)
+            .setParameter("keyHash", keyHash)
+            .setParameter("requestHash", requestHash)
+            .setParameter("ownerToken", ownerToken)
+            .setParameter("status", IdempotencyStatus.IN_PROGRESS.name())
+            .setParameter("createdDate", createdDate)
+            .setParameter("expiresAt", expiresAt)
+            .executeUpdate();
+
+        return inserted > 0;
+    }
+
+    /**
+     * Finds the record of a key.
+     *
+     * @param keyHash the hash identifying the key
+     * @return an Optional containing the record if found, or empty if not found
+     */
+    public Optional<IdempotencyRecord> findByKeyHash(String keyHash) {
+        LOG.debugf("Finding idempotency record for key: %s", keyHash);
+        return findByIdOptional(keyHash);
+    }
+
+    /**
+     * Deletes the record of a key when it expired, or when it is still IN_PROGRESS after the request should have
+     * finished, which means the node that reserved it stopped before completing or releasing it.
+     *
+     * @param keyHash the hash identifying the key
+     * @param now the current date
+     * @param abandonedBefore IN_PROGRESS records created before this date are considered abandoned
+     * @return the number of records deleted
+     */
+    public long deleteStaleByKeyHash(String keyHash, LocalDateTime now, LocalDateTime abandonedBefore) {
+        LOG.debugf("Deleting stale idempotency record for key: %s", keyHash);
+        return delete("keyHash = :keyHash and (expiresAt < :now or (status = :status and createdDate < :abandonedBefore))",
+            Parameters.with("keyHash", keyHash)
+                .and("now", now)
+                .and("status", IdempotencyStatus.IN_PROGRESS)
+                .and("abandonedBefore", abandonedBefore));
+    }
+
+    /**
+     * Stores the response of a reserved key and marks its record as COMPLETED, only while the key is still reserved
+     * by the same request.
+     *
+     * @param keyHash the hash identifying the key
+     * @param ownerToken the token of the request that reserved the key
+     * @param responseStatus the HTTP status of the response
+     * @param responseBody the serialized body of the response, or null when it has no body
+     * @param expiresAt the date the record expires, counted from the completion of the request
+     * @return true if the record was completed, false if it is no longer reserved by the request
+     */
+    public boolean complete(String keyHash, String ownerToken, int responseStatus, String responseBody, LocalDateTime expiresAt) {
+        LOG.debugf("Completing idempotency record for key: %s", keyHash);
+        return update("status = :completed, responseStatus = :responseStatus, responseBody = :responseBody, expiresAt = :expiresAt "
+            + "where keyHash = :keyHash and ownerToken = :ownerToken and status = :inProgress",
+            Parameters.with("completed", IdempotencyStatus.COMPLETED)
+                .and("responseStatus", responseStatus)
+                .and("responseBody", responseBody)
+                .and("expiresAt", expiresAt)
+                .and("keyHash", keyHash)
+                .and("ownerToken", ownerToken)
+                .and("inProgress", IdempotencyStatus.IN_PROGRESS)) > 0;
+    }
+
+    /**
+     * Deletes the IN_PROGRESS record of a key reserved by a request, so the request can be sent again with the same key.
+     *
+     * @param keyHash the hash identifying the key
+     * @param ownerToken the token of the request that reserved the key
+     */
+    public void release(String keyHash, String ownerToken) {
+        LOG.debugf("Releasing idempotency key: %s", keyHash);
+        delete("keyHash = :keyHash and ownerToken = :ownerToken and status = :status",
+            Parameters.with("keyHash", keyHash).and("ownerToken", ownerToken).and("status", IdempotencyStatus.IN_PROGRESS));
+    }
+
+    /**
+     * Deletes every expired record.
+     *
+     * @param now the current date
+     * @return the number of records deleted
+     */
+    public long deleteExpired(LocalDateTime now) {
+        LOG.debugf("Deleting idempotency records expired before %s", now);
+        return delete("expiresAt < :now", Parameters.with("now", now));
+    }
+}
@@ -0,0 +1,34 @@
+package org.xpenbox.idempotency.scheduler;
+
+import org.jboss.logging.Logger;
+import org.xpenbox.idempotency.service.IIdempotencyService;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.inject.Singleton;
+import jakarta.transaction.Transactional;
+
+/**
+ * Scheduler class for deleting expired idempotency keys, so the idempotency table only holds the keys that can
+ * still be replayed.
+ */
+@Singleton
+public class IdempotencyCleanupScheduler {
+    private static final Logger LOG = Logger.getLogger(IdempotencyCleanupScheduler.class);
+
+    private final IIdempotencyService idempotencyService;
+
+    public IdempotencyCleanupScheduler(IIdempotencyService idempotencyService) {
+        LOG.info("IdempotencyCleanupScheduler initialized");
+        this.idempotencyService = idempotencyService;
+    }
+
+    /**
+     * Deletes the expired idempotency keys based on a cron expression defined in the application properties.
+     */
+    @Scheduled(cron = "{scheduler.idempotency.cleanup.cron}")
+    @Transactional
+    void scheduleCleanupIdempotencyKeysTask() {
+        LOG.info("Running scheduled idempotency key cleanup task");
+        idempotencyService.purgeExpired();
+    }
+}
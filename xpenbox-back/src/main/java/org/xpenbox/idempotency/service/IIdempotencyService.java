@@ -0,0 +1,52 @@
+package org.xpenbox.idempotency.service;
+
+import java.util.Optional;
+
+import org.xpenbox.idempotency.dto.IdempotentResponseDTO;
+
+/**
+ * Service interface for the Idempotency-Key support of mutating endpoints. A key is reserved by the first request
+ * that uses it; once that request succeeds its response is stored until the key expires and is returned to any retry.
+ */
+public interface IIdempotencyService {
+
+    /**
+     * Starts a request sent with an idempotency key.
+     *
+     * @param keyHash the hash identifying the key, scoped to the user and the endpoint
+     * @param requestHash the hash of the request
+     * @param ownerToken a token unique to this request, identifying its reservation of the key
+     * @return the stored response if the key was already used by a successful request, or empty if the key was
+     *         reserved for this request, which must then be completed or released with the same token
+     * @throws org.xpenbox.exception.ConflictException if another request with the same key is still in progress
+     * @throws org.xpenbox.exception.UnprocessableContentException if the key was used with a different request
+     */
+    Optional<IdempotentResponseDTO> begin(String keyHash, String requestHash, String ownerToken);
+
+    /**
+     * Stores the response of a request that reserved its key. Nothing is stored if the key is no longer reserved by it.
+     *
+     * @param keyHash the hash identifying the key
+     * @param ownerToken the token the request reserved the key with
+     * @param requestHash the hash of the request
+     * @param status the HTTP status of the response
+     * @param body the serialized body of the response, or null when it has no body
+     */
+    void complete(String keyHash, String ownerToken, String requestHash, int status, String body);
+
+    /**
+     * Releases the key of a request that did not succeed, so it can be sent again with the same key.
+     * Nothing is released if the key is no longer reserved by the request.
+     *
+     * @param keyHash the hash identifying the key
+     * @param ownerToken the token the request reserved the key with
+     */
+    void release(String keyHash, String ownerToken);
+
+    /**
+     * Deletes the expired keys.
+     *
+     * @return the number of keys deleted
+     */
+    long purgeExpired();
+}
@@ -0,0 +1,173 @@
+package org.xpenbox.idempotency.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.xpenbox.common.DateFunctions;
+import org.xpenbox.exception.ConflictException;
+import org.xpenbox.exception.UnprocessableContentException;
+import org.xpenbox.idempotency.dto.IdempotentResponseDTO;
+import org.xpenbox.idempotency.entity.IdempotencyRecord;
+import org.xpenbox.idempotency.entity.IdempotencyRecord.IdempotencyStatus;
+import org.xpenbox.idempotency.repository.IdempotencyRecordRepository;
+import org.xpenbox.idempotency.service.IIdempotencyService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Implementation of the IIdempotencyService interface. Keys are stored in tbl_idempotency_record, shared by every node,
+ * and recently used completed responses are also kept in memory, bounded by the size of their bodies, so most retries
+ * are answered without a query. Keys are reserved and completed in their own transactions, committed before and after the
+ * request itself. Each reservation carries an owner token, so a request only completes or releases its own reservation.
+ * A key left IN_PROGRESS longer than the lock timeout (the node stopped before completing it) can be reserved again;
+ * the timeout must exceed the longest request, every attempt of a retried transaction included.
+ */
+@ApplicationScoped
+public class IdempotencyServiceImpl implements IIdempotencyService {
+    private static final Logger LOG = Logger.getLogger(IdempotencyServiceImpl.class);
+
+    // Approximate size of a cached response without its body: the key, the request hash and the record itself
+    private static final int ENTRY_OVERHEAD_BYTES = 320;
+
+    @ConfigProperty(name = "idempotency.key.ttl", defaultValue = "24H")
+    private Duration keyTtl;
+
+    @ConfigProperty(name = "idempotency.key.lock.timeout", defaultValue = "10M")
+    private Duration lockTimeout;
+
+    @ConfigProperty(name = "idempotency.memory.max.bytes", defaultValue = "4194304")
+    private Long maxBytes;
+
+    @ConfigProperty(name = "idempotency.memory.max.body.bytes", defaultValue = "65536")
+    private Integer maxBodyBytes;
+
+    private Cache<String, IdempotentResponseDTO> completedResponses;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        completedResponses = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String keyHash, IdempotentResponseDTO response) -> weightOf(response))
+            .build();
+    }
+
+    @Override
+    public Optional<IdempotentResponseDTO> begin(String keyHash, String requestHash, String ownerToken) {
+        LocalDateTime now = DateFunctions.currentLocalDateTime();
+
+        IdempotentResponseDTO cachedResponse = completedResponses.getIfPresent(keyHash);
+        if (cachedResponse != null && cachedResponse.expiresAt().isAfter(now)) {
+            LOG.debugf("Idempotency key found in memory: %s", keyHash);
+            return Optional.of(verifyRequest(cachedResponse, requestHash));
+        }
+
+        return QuarkusTransaction.requiringNew().call(() -> reserveOrReplay(keyHash, requestHash, ownerToken, now));
+    }
+
+    @Override
+    public void complete(String keyHash, String ownerToken, String requestHash, int status, String body) {
+        LocalDateTime expiresAt = DateFunctions.currentLocalDateTime().plus(keyTtl);
+        boolean completed = QuarkusTransaction.requiringNew().call(() ->
+            idempotencyRecordRepository.complete(keyHash, ownerToken, status, body, expiresAt)
+        );
+
+        if (!completed) {
+            LOG.warnf("Idempotency key %s is no longer reserved by this request, its response was not stored", keyHash);
+            return;
+        }
+
+        cacheResponse(keyHash, new IdempotentResponseDTO(requestHash, status, body, expiresAt));
+    }
+
+    @Override
+    public void release(String keyHash, String ownerToken) {
+        QuarkusTransaction.requiringNew().run(() -> idempotencyRecordRepository.release(keyHash, ownerToken));
+    }
+
+    @Override
+    public long purgeExpired() {
+        LocalDateTime now = DateFunctions.currentLocalDateTime();
+        completedResponses.asMap().values().removeIf(response -> !response.expiresAt().isAfter(now));
+
+        long deleted = idempotencyRecordRepository.deleteExpired(now);
+        LOG.infof("Deleted %d expired idempotency keys", deleted);
+        return deleted;
+    }
+
+    /**
+     * Reserves a key for the request, or returns the stored response when a previous request with the key succeeded.
+     * Expired and abandoned records of the key are deleted first, so their key can be reserved again.
+     */
+    private Optional<IdempotentResponseDTO> reserveOrReplay(String keyHash, String requestHash, String ownerToken, LocalDateTime now) {
+        idempotencyRecordRepository.deleteStaleByKeyHash(keyHash, now, now.minus(lockTimeout));
+
+        if (idempotencyRecordRepository.reserve(keyHash, requestHash, ownerToken, now, now.plus(keyTtl))) {
+            LOG.debugf("Idempotency key reserved: %s", keyHash);
+            return Optional.empty();
+        }
+
+        IdempotencyRecord idempotencyRecord = idempotencyRecordRepository.findByKeyHash(keyHash)
+            .orElseThrow(() -> new ConflictException("A request with the same Idempotency-Key is in progress, please try again"));
+
+        if (idempotencyRecord.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+            verifyRequest(idempotencyRecord.getRequestHash(), requestHash);
+            throw new ConflictException("A request with the same Idempotency-Key is in progress, please try again");
+        }
+
+        IdempotentResponseDTO storedResponse = new IdempotentResponseDTO(
+            idempotencyRecord.getRequestHash(),
+            idempotencyRecord.getResponseStatus(),
+            idempotencyRecord.getResponseBody(),
+            idempotencyRecord.getExpiresAt()
+        );
+        cacheResponse(keyHash, storedResponse);
+
+        LOG.debugf("Idempotency key found in the database: %s", keyHash);
+        return Optional.of(verifyRequest(storedResponse, requestHash));
+    }
+
+    /**
+     * Keeps a completed response in memory, unless its body is too large: those are only replayed from the database.
+     */
+    private void cacheResponse(String keyHash, IdempotentResponseDTO response) {
+        if (bodySizeOf(response) > maxBodyBytes) {
+            LOG.debugf("Response of idempotency key %s is too large to keep in memory", keyHash);
+            return;
+        }
+        completedResponses.put(keyHash, response);
+    }
+
+    private int weightOf(IdempotentResponseDTO response) {
+        return ENTRY_OVERHEAD_BYTES + bodySizeOf(response);
+    }
+
+    private int bodySizeOf(IdempotentResponseDTO response) {
+        // Java strings take up to 2 bytes per character
+        return response.body() == null ? 0 : response.body().length() * 2;
+    }
+
+    private IdempotentResponseDTO verifyRequest(IdempotentResponseDTO storedResponse, String requestHash) {
+        verifyRequest(storedResponse.requestHash(), requestHash);
+        return storedResponse;
+    }
+
+    private void verifyRequest(String storedRequestHash, String requestHash) {
+        if (!storedRequestHash.equals(requestHash)) {
+            throw new UnprocessableContentException("The Idempotency-Key was already used with a different request");
+        }
+    }
+}
@@ -3,13 +3,16 @@ package org.xpenbox.income.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.xpenbox.common.repository.Tsid;
 import org.xpenbox.user.entity.User;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -17,15 +20,20 @@ import jakarta.persistence.Table;
 
 /**
  * Income entity representing income records associated with users.
+ * The allocated amount is the sum of the INCOME transactions assigned to the income. It is only changed through the
+ * atomic updates of IncomeRepository, so updates are dynamic and never write back a stale allocated amount.
  */
 @Entity
+@DynamicUpdate
+@NaturalIdCache
 @Table(name = "tbl_income")
 public class Income extends PanacheEntityBase {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
+    @NaturalId
     @Column(name = "resource_code", nullable = false, unique = true, length = 100)
     private String resourceCode;
 
@@ -38,7 +46,11 @@ public class Income extends PanacheEntityBase {
     @Column(name = "total_amount", nullable = false, precision = 13, scale = 2)
     private BigDecimal totalAmount;
 
-    @ManyToOne
+    @Column(name = "allocated_amount", nullable = false, precision = 13, scale = 2)
+    private BigDecimal allocatedAmount;
+
+    @NaturalId
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
@@ -74,6 +86,14 @@ public class Income extends PanacheEntityBase {
         this.totalAmount = totalAmount;
     }
 
+    public BigDecimal getAllocatedAmount() {
+        return allocatedAmount;
+    }
+
+    public void setAllocatedAmount(BigDecimal allocatedAmount) {
+        this.allocatedAmount = allocatedAmount;
+    }
+
     public User getUser() {
         return user;
     }
@@ -2,7 +2,6 @@ package org.xpenbox.income.mapper;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Map;
 
 import org.jboss.logging.Logger;
 import org.xpenbox.common.DateFunctions;
@@ -36,25 +35,7 @@ public class IncomeMapper implements GenericMapper<Income, IncomeCreateDTO, Inco
             entity.getConcept(),
             DateFunctions.convertToTimestamp(entity.getIncomeDate()),
             entity.getTotalAmount(),
-            BigDecimal.ZERO
-        );
-        return dto;
-    }
-
-    /**
-     * Maps an Income entity to an IncomeResponseDTO including allocated amount.
-     * @param entity The Income entity to map.
-     * @param allocatedAmount The allocated amount to include in the DTO.
-     * @return The mapped IncomeResponseDTO with allocated amount.
-     */
-    public IncomeResponseDTO toDTOAllocated(Income entity, BigDecimal allocatedAmount) {
-        LOG.infof("Mapping Income entity to DTO with allocated amount: %s, %s", entity, allocatedAmount);
-        IncomeResponseDTO dto = new IncomeResponseDTO(
-            entity.getResourceCode(),
-            entity.getConcept(),
-            DateFunctions.convertToTimestamp(entity.getIncomeDate()),
-            entity.getTotalAmount(),
-            allocatedAmount
+            entity.getAllocatedAmount()
         );
         return dto;
     }
@@ -96,25 +77,6 @@ public class IncomeMapper implements GenericMapper<Income, IncomeCreateDTO, Inco
             .toList();
     }
 
-    /**
-     * Maps a list of Income entities to a list of IncomeResponseDTOs including allocated amounts.
-     * @param entities The list of Income entities to map.
-     * @param allocatedAmounts A map of income IDs to their allocated amounts.
-     * @return The list of mapped IncomeResponseDTOs with allocated amounts.
-     */
-    public List<IncomeResponseDTO> toDTOListAllocated(List<Income> entities, Map<Long, BigDecimal> allocatedAmounts) {
-        LOG.infof("Mapping list of Income entities to DTOs with allocated amounts: %s", entities);
-        
-        if (entities == null || entities.isEmpty()) {
-            LOG.infof("No Income entities to map, returning empty list");
-            return List.of();
-        }
-
-        return entities.stream()
-            .map(income -> toDTOAllocated(income, allocatedAmounts.getOrDefault(income.id, BigDecimal.ZERO)))
-            .toList();
-    }
-
     /**
      * Maps an IncomeCreateDTO to an Income entity.
      * @param dto The IncomeCreateDTO to map.
@@ -129,6 +91,7 @@ public class IncomeMapper implements GenericMapper<Income, IncomeCreateDTO, Inco
         entity.setConcept(dto.concept());
         entity.setIncomeDate(DateFunctions.convertToLocalDateTime(dto.incomeDateTimestamp()));
         entity.setTotalAmount(dto.totalAmount());
+        entity.setAllocatedAmount(BigDecimal.ZERO);
         entity.setUser(user);
         return entity;
     }
@@ -1,10 +1,13 @@
 package org.xpenbox.income.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.jboss.logging.Logger;
 import org.xpenbox.common.repository.GenericRepository;
 import org.xpenbox.income.entity.Income;
+import org.xpenbox.transaction.entity.Transaction.TransactionType;
 
 import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -14,6 +17,7 @@ import jakarta.enterprise.context.ApplicationScoped;
  */
 @ApplicationScoped
 public class IncomeRepository extends GenericRepository<Income> {
+    private static final Logger LOG = Logger.getLogger(IncomeRepository.class);
  
     /**
      * Find incomes by user ID within a specified date range.
@@ -30,4 +34,95 @@ public class IncomeRepository extends GenericRepository<Income> {
                       .and("endDate", endDate.atTime(23, 59, 59))
         ).list();
     }
+
+    /**
+     * Adds an amount to the allocated amount of an income in a single statement, only if the income total covers it.
+     * The managed entity is refreshed when the update succeeds.
+     * @param income the income to allocate from
+     * @param amount the amount to allocate
+     * @return true if the amount was allocated, false if it exceeds the unallocated amount of the income
+     */
+    public boolean allocateAmount(Income income, BigDecimal amount) {
+        LOG.infof("Allocating amount %s from income id: %d", amount, income.id);
+        int updated = update("allocatedAmount = allocatedAmount + :amount where id = :id and allocatedAmount + :amount <= totalAmount",
+            Parameters.with("amount", amount).and("id", income.id)
+        );
+        return refreshIfUpdated(income, updated);
+    }
+
+    /**
+     * Subtracts an amount from the allocated amount of an income in a single statement, only if it was allocated.
+     * The managed entity is refreshed when the update succeeds.
+     * @param income the income to release the amount to
+     * @param amount the amount to release
+     * @return true if the amount was released, false if the allocated amount is lower than the amount
+     */
+    public boolean releaseAmount(Income income, BigDecimal amount) {
+        LOG.infof("Releasing amount %s to income id: %d", amount, income.id);
+        int updated = update("allocatedAmount = allocatedAmount - :amount where id = :id and allocatedAmount >= :amount",
+            Parameters.with("amount", amount).and("id", income.id)
+        );
+        return refreshIfUpdated(income, updated);
+    }
+
+    /**
+     * Sets the total amount of an income in a single statement, only if it still covers the allocated amount.
+     * The managed entity is refreshed when the update succeeds.
+     * @param income the income to update
+     * @param totalAmount the new total amount
+     * @return true if the total amount was updated, false if it is lower than the allocated amount of the income
+     */
+    public boolean updateTotalAmount(Income income, BigDecimal totalAmount) {
+        LOG.infof("Updating total amount of income id: %d to %s", income.id, totalAmount);
+        int updated = update("totalAmount = :totalAmount where id = :id and allocatedAmount <= :totalAmount",
+            Parameters.with("totalAmount", totalAmount).and("id", income.id)
+        );
+        return refreshIfUpdated(income, updated);
+    }
+
+    /**
+     * Finds the IDs of the incomes following a given ID, in ID order, to walk through every income in bounded chunks.
+     * @param lastId the last ID of the previous chunk, or 0 for the first chunk
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the next chunk, empty when there are no more incomes
+     */
+    public List<Long> findIdsAfter(Long lastId, int limit) {
+        LOG.debugf("Finding %d income IDs after ID: %d", limit, lastId);
+        return getEntityManager().createQuery("SELECT i.id FROM Income i WHERE i.id > :lastId ORDER BY i.id", Long.class)
+            .setParameter("lastId", lastId)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    /**
+     * Recomputes the allocated amount of the given incomes from their INCOME transactions, only writing the incomes that drifted.
+     * @param ids the IDs of the incomes to verify
+     * @return the number of incomes whose allocated amount was corrected
+     */
+    public int rebuildAllocatedAmounts(List<Long> ids) {
+        LOG.debugf("Rebuilding allocated amounts of %d incomes", ids.size());
+        return getEntityManager().createQuery("""
+            UPDATE Income i
+            SET i.allocatedAmount = COALESCE((
+                SELECT SUM(t.amount) FROM Transaction t WHERE t.income.id = i.id AND t.transactionType = :transactionType
+            ), 0)
+            WHERE i.id IN :ids
+            AND i.allocatedAmount <> COALESCE((
+                SELECT SUM(t.amount) FROM Transaction t WHERE t.income.id = i.id AND t.transactionType = :transactionType
+            ), 0)
+            """)
+            .setParameter("transactionType", TransactionType.INCOME)
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+
+    private boolean refreshIfUpdated(Income income, int updated) {
+        if (updated == 0) {
+            return false;
+        }
+        if (isPersistent(income)) {
+            getEntityManager().refresh(income);
+        }
+        return true;
+    }
 }
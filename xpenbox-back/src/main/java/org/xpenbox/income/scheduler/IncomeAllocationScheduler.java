@@ -0,0 +1,34 @@
+package org.xpenbox.income.scheduler;
+
+import org.jboss.logging.Logger;
+import org.xpenbox.income.service.IIncomeService;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.inject.Singleton;
+
+/**
+ * Scheduler class for keeping the allocated amount of incomes consistent with their INCOME transactions. Allocated
+ * amounts are maintained incrementally by the transaction service; this job verifies them periodically and rebuilds
+ * the ones that drifted.
+ */
+@Singleton
+public class IncomeAllocationScheduler {
+    private static final Logger LOG = Logger.getLogger(IncomeAllocationScheduler.class);
+
+    private final IIncomeService incomeService;
+
+    public IncomeAllocationScheduler(IIncomeService incomeService) {
+        LOG.info("IncomeAllocationScheduler initialized");
+        this.incomeService = incomeService;
+    }
+
+    /**
+     * Rebuilds the allocated amounts of incomes based on a cron expression defined in the application properties.
+     * The income service runs every chunk of incomes in its own transaction, so this method does not start one.
+     */
+    @Scheduled(cron = "{scheduler.incomes.allocation.rebuild.cron}")
+    void scheduleRebuildAllocatedAmountsTask() {
+        LOG.info("Running scheduled income allocation rebuild task");
+        incomeService.rebuildAllocatedAmounts();
+    }
+}
@@ -28,4 +28,11 @@ public interface IIncomeService extends IGenericService<Income, IncomeCreateDTO,
      * @param userEmail the email of the user
      */
     void delete(String resourceCode, String userEmail);
+
+    /**
+     * Rebuild the allocated amount of every income from its INCOME transactions, correcting any drift.
+     * Incomes are processed in bounded chunks, each in its own transaction.
+     * @return the number of incomes whose allocated amount was corrected
+     */
+    int rebuildAllocatedAmounts();
 }
@@ -6,7 +6,6 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
 
 import org.jboss.logging.Logger;
 import org.xpenbox.common.service.impl.GenericServiceImpl;
@@ -20,13 +19,12 @@ import org.xpenbox.income.mapper.IncomeMapper;
 import org.xpenbox.income.repository.IncomeRepository;
 import org.xpenbox.income.service.IIncomeService;
 import org.xpenbox.transaction.dto.TransactionCreateDTO;
-import org.xpenbox.transaction.entity.Transaction;
 import org.xpenbox.transaction.entity.Transaction.TransactionType;
-import org.xpenbox.transaction.repository.TransactionRepository;
 import org.xpenbox.transaction.service.ITransactionService;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 
 /**
@@ -36,21 +34,20 @@ import jakarta.enterprise.context.ApplicationScoped;
 public class IncomeServiceImpl extends GenericServiceImpl<Income, IncomeCreateDTO, IncomeUpdateDTO, IncomeResponseDTO> implements IIncomeService {
     private static final Logger LOG = Logger.getLogger(IncomeServiceImpl.class);
 
-    private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final IPrincipalService principalService;
     private final ITransactionService transactionService;
     private final IncomeRepository incomeRepository;
     private final IncomeMapper incomeMapper;
 
     public IncomeServiceImpl(
-        UserRepository userRepository,
-        TransactionRepository transactionRepository,
+        IPrincipalService principalService,
         ITransactionService transactionService,
         IncomeRepository incomeRepository,
         IncomeMapper incomeMapper
     ) {
-        this.userRepository = userRepository;
-        this.transactionRepository = transactionRepository;
+        this.principalService = principalService;
         this.transactionService = transactionService;
         this.incomeRepository = incomeRepository;
         this.incomeMapper = incomeMapper;
@@ -62,8 +59,8 @@ public class IncomeServiceImpl extends GenericServiceImpl<Income, IncomeCreateDT
     }
 
     @Override
-    protected UserRepository getUserRepository() {
-        return userRepository;
+    protected IPrincipalService getPrincipalService() {
+        return principalService;
     }
 
     @Override
@@ -127,11 +124,12 @@ public class IncomeServiceImpl extends GenericServiceImpl<Income, IncomeCreateDT
                 throw new ResourceNotFoundException("Income not found with resource code: " + resourceCode + " for user email: " + userEmail); 
             });
             
-        BigDecimal totalAssignedToTransactions = calculateTotalIncomeAsignedToTransactions(existingIncome.id, user.id);
-        if (incomeUpdateDTO.totalAmount().compareTo(totalAssignedToTransactions) < 0) {
-            LOG.errorf("Updated income amount %s is less than total assigned to transactions %s for income resource code: %s and user email: %s", 
-                incomeUpdateDTO.totalAmount(), totalAssignedToTransactions, resourceCode, userEmail);
-            throw new BadRequestException("Updated income amount cannot be less than total amount assigned to transactions: " + totalAssignedToTransactions);
+        // The total is written by a guarded statement, so an amount allocated concurrently can never exceed it
+        if (incomeUpdateDTO.totalAmount() != null && incomeUpdateDTO.totalAmount().compareTo(existingIncome.getTotalAmount()) != 0
+                && !incomeRepository.updateTotalAmount(existingIncome, incomeUpdateDTO.totalAmount())) {
+            LOG.errorf("Updated income amount %s is less than total assigned to transactions for income resource code: %s and user email: %s",
+                incomeUpdateDTO.totalAmount(), resourceCode, userEmail);
+            throw new BadRequestException("Updated income amount cannot be less than total amount assigned to transactions");
         }
 
         boolean updated = incomeMapper.updateEntity(incomeUpdateDTO, existingIncome);
@@ -146,52 +144,6 @@ public class IncomeServiceImpl extends GenericServiceImpl<Income, IncomeCreateDT
         return super.update(resourceCode, incomeUpdateDTO, userEmail);
     }
 
-    /**
-     * Get all incomes for a user
-     * @param userEmail the email of the user
-     * @return a list of income response DTOs
-     */
-    @Override
-    public List<IncomeResponseDTO> getAll(String userEmail) {
-        LOG.infof("Retrieving all incomes for user email: %s", userEmail);
-        User user = validateAndGetUser(userEmail);
-
-        List<Income> incomes = incomeRepository.findAllByUserId(user.id);
-        LOG.infof("Found %d incomes for user email: %s", incomes.size(), userEmail);
-        
-        List<Long> incomeIds = incomes.stream()
-            .map(income -> income.id)
-            .toList();
-        Map<Long, BigDecimal> allocatedAmounts = transactionRepository.findAssignedAmountByIncomeIdsAndUserIdAndTransactionType(incomeIds, user.id, TransactionType.INCOME);
-
-        LOG.infof("Calculated allocated amounts for incomes: %s", allocatedAmounts);
-        return incomeMapper.toDTOListAllocated(incomes, allocatedAmounts);
-    }
-
-    /**
-     * Get an income by its resource code, including allocated amount.
-     * @param resourceCode the resource code of the income
-     * @param userEmail the email of the user
-     * @return the income response DTO
-     */
-    @Override
-    public IncomeResponseDTO getByResourceCode(String resourceCode, String userEmail) {
-        LOG.infof("Retrieving income with resource code %s for user email: %s", resourceCode, userEmail);
-        User user = validateAndGetUser(userEmail);
-
-        Income existingIncome = incomeRepository.findByResourceCodeAndUserId(resourceCode, user.id)
-            .orElseThrow(() -> {
-                LOG.errorf("Income not found with resource code: %s for user email: %s", resourceCode, userEmail);
-                throw new ResourceNotFoundException("Income not found with resource code: " + resourceCode + " for user email: " + userEmail); 
-            });
-
-        BigDecimal allocatedAmount = calculateTotalIncomeAsignedToTransactions(existingIncome.id, user.id);
-        LOG.infof("Calculated allocated amount %s for income with resource code: %s", allocatedAmount, resourceCode);
-
-        IncomeResponseDTO incomeResponseDTO = incomeMapper.toDTOAllocated(existingIncome, allocatedAmount);
-        return incomeResponseDTO;
-    }
-
     @Override
     public List<IncomeResponseDTO> filterIncomesByDateRange(String userEmail, Long startDateTimestamp, Long endDateTimestamp) {
         LOG.infof("Filtering incomes for user email: %s between timestamps %d and %d", userEmail, startDateTimestamp, endDateTimestamp);
@@ -212,13 +164,7 @@ public class IncomeServiceImpl extends GenericServiceImpl<Income, IncomeCreateDT
         List<Income> incomes = incomeRepository.findByUserIdAndDateRange(user.id, startDate, endDate);
         LOG.infof("Found %d incomes for user email: %s in date range", incomes.size(), userEmail);
 
-        List<Long> incomeIds = incomes.stream()
-            .map(income -> income.id)
-            .toList();
-        
-        Map<Long, BigDecimal> allocatedAmounts = transactionRepository.findAssignedAmountByIncomeIdsAndUserIdAndTransactionType(incomeIds, user.id, TransactionType.INCOME);
-
-        return incomeMapper.toDTOListAllocated(incomes, allocatedAmounts);
+        return incomeMapper.toDTOList(incomes);
     }
 
     /**
@@ -237,7 +183,7 @@ public class IncomeServiceImpl extends GenericServiceImpl<Income, IncomeCreateDT
                 throw new ResourceNotFoundException("Income not found with resource code: " + resourceCode + " for user email: " + userEmail); 
             });
 
-        BigDecimal totalAssignedToTransactions = calculateTotalIncomeAsignedToTransactions(existingIncome.id, user.id);
+        BigDecimal totalAssignedToTransactions = existingIncome.getAllocatedAmount();
         if (totalAssignedToTransactions.compareTo(BigDecimal.ZERO) > 0) {
             LOG.errorf("Cannot delete income with resource code: %s as it has assigned transactions totaling: %s", resourceCode, totalAssignedToTransactions);
             throw new BadRequestException("Cannot delete income as it has assigned transactions totaling: " + totalAssignedToTransactions);
@@ -248,18 +194,31 @@ public class IncomeServiceImpl extends GenericServiceImpl<Income, IncomeCreateDT
     }
 
     /**
-     * Calculate the total income assigned to transactions for a given income and user.
-     * @param incomeId the ID of the income
-     * @param userId the ID of the user
-     * @return the total income assigned to transactions
+     * Rebuild the allocated amount of every income from its INCOME transactions. Incomes are verified in chunks of IDs,
+     * each in its own short transaction, so allocations only wait for the chunk being verified.
+     * @return the number of incomes whose allocated amount was corrected
      */
-    private BigDecimal calculateTotalIncomeAsignedToTransactions(Long incomeId, Long userId) {
-        LOG.debugf("Calculating total income assigned to transactions for incomeId: %d and userId: %d", incomeId, userId);
-        List<Transaction> transactions = transactionRepository.findByIncomeIdAndUserIdAndType(incomeId, userId, TransactionType.INCOME);
-        BigDecimal total = transactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        LOG.debugf("Total income assigned to transactions: %s", total);
-        return total;
+    @Override
+    public int rebuildAllocatedAmounts() {
+        int corrected = 0;
+        Long lastIncomeId = 0L;
+        List<Long> incomeIds;
+
+        while (!(incomeIds = findIncomeIdsAfter(lastIncomeId)).isEmpty()) {
+            List<Long> chunk = incomeIds;
+            corrected += QuarkusTransaction.requiringNew().call(() -> incomeRepository.rebuildAllocatedAmounts(chunk));
+            lastIncomeId = incomeIds.get(incomeIds.size() - 1);
+        }
+
+        if (corrected > 0) {
+            LOG.warnf("Corrected allocated amount of %d incomes", corrected);
+        } else {
+            LOG.info("Allocated amounts of incomes are consistent with transactions");
+        }
+        return corrected;
+    }
+
+    private List<Long> findIncomeIdsAfter(Long lastIncomeId) {
+        return QuarkusTransaction.requiringNew().call(() -> incomeRepository.findIdsAfter(lastIncomeId, REBUILD_CHUNK_SIZE));
     }
 }
@@ -1,27 +1,36 @@
 package org.xpenbox.notifications.entity;
 
+import org.xpenbox.common.repository.Tsid;
 import org.xpenbox.user.entity.User;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 
 /**
  * Entity representing a device token for push notifications.
  */
 @Entity
+@NamedEntityGraph(
+    name = DeviceToken.GRAPH_NOTIFICATION_SCAN,
+    attributeNodes = @NamedAttributeNode("user")
+)
 @Table(name = "tbl_device_token")
 public class DeviceToken {
+
+    /** Fetch plan for the push notification schedulers, which read the user of every device token. */
+    public static final String GRAPH_NOTIFICATION_SCAN = "notification-scan";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
     @Column(name = "token", nullable = false, length = 500)
@@ -34,7 +43,7 @@ public class DeviceToken {
     @Column(name = "state", nullable = false)
     private Boolean state;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -25,9 +25,9 @@ public class DeviceTokenRepository extends GenericRepository<DeviceToken> {
      */
     public List<DeviceToken> findAllByStateTrueAndPlatform(Platform platform) {
         LOG.info("Fetching all device tokens with state true and platform " + platform + " from the database");
-        return find("state = :state and platform = :platform", 
+        return withEntityGraph(find("state = :state and platform = :platform", 
             Parameters.with("state", true).and("platform", platform)
-        ).list();
+        ), DeviceToken.GRAPH_NOTIFICATION_SCAN).list();
     }
 
     public Optional<DeviceToken> findByToken(String token) {
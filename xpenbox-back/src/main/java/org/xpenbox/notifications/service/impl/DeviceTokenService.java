@@ -13,7 +13,7 @@ import org.xpenbox.notifications.repository.DeviceTokenRepository;
 import org.xpenbox.notifications.service.IDeviceTokenService;
 import org.xpenbox.notifications.service.IPushNotificationService;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -24,18 +24,18 @@ import jakarta.enterprise.context.ApplicationScoped;
 public class DeviceTokenService extends GenericServiceImpl<DeviceToken, DeviceTokenCreateDTO, DeviceTokenCreateDTO, DeviceTokenCreateDTO> implements IDeviceTokenService {
     private static final Logger LOG = Logger.getLogger(DeviceTokenService.class);
 
-    private final UserRepository userRepository;
+    private final IPrincipalService principalService;
     private final DeviceTokenRepository deviceTokenRepository;
     private final DeviceTokenMapper deviceTokenMapper;
     private final IPushNotificationService pushNotificationService;
 
     public DeviceTokenService(
-        UserRepository userRepository,
+        IPrincipalService principalService,
         DeviceTokenRepository deviceTokenRepository,
         DeviceTokenMapper deviceTokenMapper,
         IPushNotificationService pushNotificationService
     ) {
-        this.userRepository = userRepository;
+        this.principalService = principalService;
         this.deviceTokenRepository = deviceTokenRepository;
         this.deviceTokenMapper = deviceTokenMapper;
         this.pushNotificationService = pushNotificationService;
@@ -47,8 +47,8 @@ public class DeviceTokenService extends GenericServiceImpl<DeviceToken, DeviceTo
     }
 
     @Override
-    protected UserRepository getUserRepository() {
-        return userRepository;
+    protected IPrincipalService getPrincipalService() {
+        return principalService;
     }
 
     @Override
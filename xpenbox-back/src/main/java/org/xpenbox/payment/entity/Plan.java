@@ -3,7 +3,11 @@ package org.xpenbox.payment.entity;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -20,6 +24,7 @@ import jakarta.persistence.Table;
  * Plan entity representing subscription plans available for users.
  */
 @Entity
+@Cacheable
 @Table(name = "tbl_plan")
 public class Plan extends PanacheEntityBase {
     @Id
@@ -49,6 +54,7 @@ public class Plan extends PanacheEntityBase {
     @Column(name = "status")
     private PlanStatus status;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "plan", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<PlanFeature> features;
 
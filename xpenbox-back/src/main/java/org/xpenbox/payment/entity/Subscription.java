@@ -3,42 +3,59 @@ package org.xpenbox.payment.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.xpenbox.common.repository.Tsid;
 import org.xpenbox.user.entity.User;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Subscription entity representing user subscriptions to plans.
  */
 @Entity
+@NamedEntityGraph(
+    name = Subscription.GRAPH_BILLING,
+    attributeNodes = {
+        @NamedAttributeNode("plan"),
+        @NamedAttributeNode("user")
+    }
+)
 @Table(name = "tbl_subscription")
 public class Subscription extends PanacheEntityBase {
 
+    /** Fetch plan for the billing scheduler, which reads the plan and the user of every subscription. */
+    public static final String GRAPH_BILLING = "subscription-billing";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
     @Column(name = "resource_code", nullable = false, unique = true, length = 100)
     private String resourceCode;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "plan_id", nullable = false)
     private Plan plan;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "plan_price", nullable = false, precision = 13, scale = 2)
     private BigDecimal planPrice;
 
@@ -195,4 +212,12 @@ public class Subscription extends PanacheEntityBase {
     public void setStatus(SubscriptionStatus status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
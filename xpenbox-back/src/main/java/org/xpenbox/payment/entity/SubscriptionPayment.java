@@ -3,13 +3,14 @@ package org.xpenbox.payment.entity;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.xpenbox.common.repository.Tsid;
+
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -22,13 +23,13 @@ import jakarta.persistence.Table;
 @Table(name = "tbl_subscription_payment")
 public class SubscriptionPayment extends PanacheEntityBase {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
     @Column(name = "resource_code", nullable = false, unique = true, length = 100)
     private String resourceCode;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "subscription_id", nullable = false)
     private Subscription subscription;
 
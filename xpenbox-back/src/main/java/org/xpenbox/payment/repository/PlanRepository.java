@@ -2,6 +2,7 @@ package org.xpenbox.payment.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.jboss.logging.Logger;
 import org.xpenbox.payment.entity.Plan;
 
@@ -17,7 +18,9 @@ public class PlanRepository implements PanacheRepository<Plan> {
 
     public Optional<Plan> findByResourceCode(String resourceCode) {
         LOG.infof("Finding plan with resource code: %s", resourceCode);
-        return find("resourceCode", resourceCode).firstResultOptional();
+        return find("resourceCode", resourceCode)
+            .withHint(HibernateHints.HINT_CACHEABLE, true)
+            .firstResultOptional();
     }
     
 }
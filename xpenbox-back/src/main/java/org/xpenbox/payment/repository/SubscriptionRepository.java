@@ -71,8 +71,8 @@ public class SubscriptionRepository extends GenericRepository<Subscription> {
      */
     public List<Subscription> findAllSubscriptionsByStatusAndPlanIdAndBeforeEndDate(SubscriptionStatus status, Long planId, LocalDateTime beforeEndDate) {
         LOG.debugf("Finding all subscriptions with status: %s, plan ID: %s, and end date before: %s", status, planId, beforeEndDate);
-        return list("status = :status and plan.id = :planId and endDate < :beforeEndDate", 
+        return withEntityGraph(find("status = :status and plan.id = :planId and endDate < :beforeEndDate", 
             Parameters.with("status", status).and("planId", planId).and("beforeEndDate", beforeEndDate)
-        );
+        ), Subscription.GRAPH_BILLING).list();
     }
 }
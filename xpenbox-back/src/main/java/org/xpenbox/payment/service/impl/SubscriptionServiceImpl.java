@@ -24,7 +24,7 @@ import org.xpenbox.payment.repository.PlanRepository;
 import org.xpenbox.payment.repository.SubscriptionRepository;
 import org.xpenbox.payment.service.ISubscriptionService;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
@@ -39,7 +39,7 @@ public class SubscriptionServiceImpl implements ISubscriptionService {
     @ConfigProperty(name = "subscription.pending.payment.grace.period.hours")
     private Integer subscriptionPendingPaymentGracePeriodHours;
 
-    private final UserRepository userRepository;
+    private final IPrincipalService principalService;
     private final PlanRepository planRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final PaymentProviderFactory paymentProviderFactory;
@@ -48,7 +48,7 @@ public class SubscriptionServiceImpl implements ISubscriptionService {
     private final IPlanSnapshotService planSnapshotService;
 
     public SubscriptionServiceImpl(
-        UserRepository userRepository,
+        IPrincipalService principalService,
         PlanRepository planRepository,
         SubscriptionRepository subscriptionRepository,
         PaymentProviderFactory paymentProviderFactory,
@@ -56,7 +56,7 @@ public class SubscriptionServiceImpl implements ISubscriptionService {
         SubscriptionMapper subscriptionMapper,
         IPlanSnapshotService planSnapshotService
     ) {
-        this.userRepository = userRepository;
+        this.principalService = principalService;
         this.planRepository = planRepository;
         this.subscriptionRepository = subscriptionRepository;
         this.paymentProviderFactory = paymentProviderFactory;
@@ -289,7 +289,7 @@ public class SubscriptionServiceImpl implements ISubscriptionService {
     private User validateAndGetUser(String email) {
         LOG.infof("Validating user with email: %s", email);
         
-        User user = userRepository.findByEmail(email)
+        User user = principalService.findUserByEmail(email)
             .orElseThrow(() -> {
                 LOG.warnf("User with email %s not found", email);
                 return new BadRequestException("User not found");
@@ -1,32 +1,41 @@
 package org.xpenbox.transaction.controller;
 
+import java.util.List;
+
 import org.jboss.logging.Logger;
 import org.xpenbox.common.dto.APIPageableDTO;
 import org.xpenbox.common.dto.APIResponseDTO;
+import org.xpenbox.idempotency.filter.Idempotent;
+import org.xpenbox.transaction.dto.TransactionBatchCreateDTO;
+import org.xpenbox.transaction.dto.TransactionBatchItemResultDTO;
 import org.xpenbox.transaction.dto.TransactionCreateDTO;
+import org.xpenbox.transaction.dto.TransactionExportFormat;
 import org.xpenbox.transaction.dto.TransactionFilterDTO;
 import org.xpenbox.transaction.dto.TransactionResponseDTO;
 import org.xpenbox.transaction.dto.TransactionUpdateDTO;
 import org.xpenbox.transaction.service.ITransactionService;
 
 import io.quarkus.security.Authenticated;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.StreamingOutput;
 
 /**
  * TransactionController is responsible for handling all transaction-related HTTP requests, including creating, updating, filtering, retrieving, and rolling back transactions. It uses the ITransactionService to perform business logic and interacts with the authenticated user's security context to ensure proper authorization and access control.
+ * Creating and rolling back transactions accept an Idempotency-Key header, so clients can safely retry them.
  */
 @Path("/transaction")
 @Authenticated
@@ -50,7 +59,7 @@ public class TransactionController {
      * @return a response indicating the result of the create operation
      */
     @POST
-    @Transactional
+    @Idempotent
     public Response createTransaction(@Context SecurityContext securityContext, @Valid TransactionCreateDTO transactionCreateDTO) {
         String userEmail = securityContext.getUserPrincipal().getName();
         LOG.infof("Create transaction request received for user: %s", userEmail);
@@ -63,6 +72,27 @@ public class TransactionController {
         ).build();
     }
 
+    /**
+     * Create several transactions in one request, e.g. the transactions recorded by a client while offline
+     * @param securityContext the security context containing user information
+     * @param transactionBatchCreateDTO the transactions to create, in the order they must be applied
+     * @return a response containing the result of every item, in batch order
+     */
+    @POST
+    @Path("/batch")
+    @Idempotent
+    public Response createTransactionBatch(@Context SecurityContext securityContext, @Valid TransactionBatchCreateDTO transactionBatchCreateDTO) {
+        String userEmail = securityContext.getUserPrincipal().getName();
+        LOG.infof("Create transaction batch request received for user: %s", userEmail);
+
+        List<TransactionBatchItemResultDTO> results = transactionService.createBatch(transactionBatchCreateDTO, userEmail);
+        LOG.infof("Transaction batch processed for user: %s", userEmail);
+
+        return Response.ok(
+            APIResponseDTO.success("Transaction batch processed", results, Response.Status.OK.getStatusCode())
+        ).build();
+    }
+
     /**
      * Update an existing transaction
      * @param securityContext Security context of the authenticated user
@@ -72,7 +102,6 @@ public class TransactionController {
      */
     @PUT
     @Path("/{resourceCode}")
-    @Transactional
     public Response updateTransaction(@Context SecurityContext securityContext, @PathParam("resourceCode") String resourceCode, @Valid TransactionUpdateDTO transactionUpdateDTO) {
         String userEmail = securityContext.getUserPrincipal().getName();
         LOG.infof("Update transaction request received for user: %s", userEmail);
@@ -105,6 +134,28 @@ public class TransactionController {
         ).build();
     }
 
+    /**
+     * Export every transaction matching the filter criteria as a file download, streamed while it is generated
+     * @param securityContext the security context containing user information
+     * @param format the export format, csv or ndjson
+     * @param filterDTO the transaction filter data transfer object, pagination fields are ignored
+     * @return a response streaming the exported transactions
+     */
+    @POST
+    @Path("/export")
+    @Produces({ "text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON })
+    public Response exportTransactions(@Context SecurityContext securityContext, @QueryParam("format") @DefaultValue("csv") String format, @Valid TransactionFilterDTO filterDTO) {
+        String userEmail = securityContext.getUserPrincipal().getName();
+        LOG.infof("Export transactions request received for user: %s, format: %s", userEmail, format);
+
+        TransactionExportFormat exportFormat = TransactionExportFormat.fromValue(format);
+        StreamingOutput export = transactionService.exportTransactions(filterDTO, exportFormat, userEmail);
+
+        return Response.ok(export, exportFormat.getMediaType())
+            .header("Content-Disposition", "attachment; filename=\"transactions." + exportFormat.getFileExtension() + "\"")
+            .build();
+    }
+
     /**
      * Get transaction by resource code
      * @param securityContext the security context containing user information
@@ -133,7 +184,7 @@ public class TransactionController {
      */
     @DELETE
     @Path("/{resourceCode}")
-    @Transactional
+    @Idempotent
     public Response rollbackTransactionByResourceCode(@Context SecurityContext securityContext, @PathParam("resourceCode") String resourceCode) {
         String userEmail = securityContext.getUserPrincipal().getName();
         LOG.infof("Rollback transaction by resource code request received for user: %s, resourceCode: %s", userEmail, resourceCode);
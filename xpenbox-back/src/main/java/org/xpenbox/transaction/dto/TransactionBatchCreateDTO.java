@@ -0,0 +1,19 @@
+package org.xpenbox.transaction.dto;
+
+import java.util.List;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for creating several Transactions in one request, e.g. when a client replays the transactions
+ * recorded while offline. Items are validated one by one, so an invalid item does not reject the rest of the batch.
+ * @param transactions Transactions to create, in the order they must be applied.
+ */
+@RegisterForReflection
+public record TransactionBatchCreateDTO (
+    @NotNull(message = "Transactions cannot be null")
+    @Size(min = 1, max = 100, message = "Transactions must contain between 1 and 100 items")
+    List<TransactionCreateDTO> transactions
+) { }
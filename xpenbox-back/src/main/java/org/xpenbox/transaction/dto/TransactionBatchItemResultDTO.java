@@ -0,0 +1,26 @@
+package org.xpenbox.transaction.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Data Transfer Object for the result of one item of a transaction batch.
+ * @param index Position of the item in the batch.
+ * @param success Whether the transaction was created.
+ * @param transaction The created transaction, null if it was not created.
+ * @param error The reason the transaction was not created, null if it was created.
+ */
+@RegisterForReflection
+public record TransactionBatchItemResultDTO (
+    int index,
+    boolean success,
+    TransactionResponseDTO transaction,
+    String error
+) {
+    public static TransactionBatchItemResultDTO created(int index, TransactionResponseDTO transaction) {
+        return new TransactionBatchItemResultDTO(index, true, transaction, null);
+    }
+
+    public static TransactionBatchItemResultDTO failed(int index, String error) {
+        return new TransactionBatchItemResultDTO(index, false, null, error);
+    }
+}
@@ -0,0 +1,52 @@
+package org.xpenbox.transaction.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.xpenbox.exception.BadRequestException;
+
+/**
+ * Position of a transaction in the (transactionDate DESC, id DESC) order used by the transaction filter.
+ * It is exchanged with clients as an opaque, URL-safe cursor pointing at the last transaction of a page.
+ * @param transactionDate Transaction date of the last transaction of the page.
+ * @param id ID of the last transaction of the page.
+ */
+public record TransactionCursor(
+    LocalDateTime transactionDate,
+    Long id
+) {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes the cursor as an opaque string.
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = transactionDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned by {@link #encode()}.
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            return new TransactionCursor(
+                LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                Long.valueOf(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid pagination cursor", e);
+        }
+    }
+}
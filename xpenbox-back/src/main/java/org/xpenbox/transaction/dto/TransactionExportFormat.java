@@ -0,0 +1,42 @@
+package org.xpenbox.transaction.dto;
+
+import org.xpenbox.exception.BadRequestException;
+
+/**
+ * Enum representing the formats transactions can be exported in.
+ */
+public enum TransactionExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    TransactionExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Returns the export format with the given name, ignoring case.
+     * @param value the name of the format (e.g. "csv" or "ndjson")
+     * @return the export format
+     * @throws BadRequestException if the format is not supported
+     */
+    public static TransactionExportFormat fromValue(String value) {
+        for (TransactionExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported export format: " + value);
+    }
+}
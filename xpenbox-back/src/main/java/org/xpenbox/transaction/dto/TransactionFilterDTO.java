@@ -21,6 +21,8 @@ import jakarta.validation.constraints.Size;
  * @param creditCardResourceCode Resource code of the credit card
  * @param pageNumber Page number for pagination
  * @param pageSize Page size for pagination
+ * @param cursor Opaque cursor returned as nextCursor by the previous page; when present, the page continues after it instead of using pageNumber
+ * @param includeTotal Whether to count the total elements and pages; when false only hasNext is returned (defaults to true)
  */
 @RegisterForReflection
 public record TransactionFilterDTO(
@@ -52,8 +54,66 @@ public record TransactionFilterDTO(
     Integer pageNumber,
     
     @Min(value = 1, message = "Page size must be a positive number")
-    Integer pageSize
+    Integer pageSize,
+
+    @Size(max = 200, message = "Cursor must not exceed 200 characters")
+    String cursor,
+
+    Boolean includeTotal
 ) {
+    /**
+     * Check whether the total elements and pages should be counted. Counting is the default when not specified.
+     * @return true unless includeTotal is explicitly false
+     */
+    public boolean shouldIncludeTotal() {
+        return !Boolean.FALSE.equals(includeTotal);
+    }
+
+    /**
+     * Build a copy of this filter without pagination fields and with a lower-cased description (the description filter is case insensitive),
+     * so that equivalent filters produce equal instances. Used as part of the cache key of the filter count.
+     * @return the normalized filter
+     */
+    public TransactionFilterDTO normalizedForCount() {
+        return new TransactionFilterDTO(
+            resourceCode,
+            transactionType,
+            description != null ? description.toLowerCase() : null,
+            transactionDateFrom,
+            transactionDateTo,
+            categoryResourceCode,
+            incomeResourceCode,
+            accountResourceCode,
+            creditCardResourceCode,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    /**
+     * Build a copy of this filter without pagination fields, matching every transaction of the filter at once.
+     * @return the filter without pagination
+     */
+    public TransactionFilterDTO withoutPagination() {
+        return new TransactionFilterDTO(
+            resourceCode,
+            transactionType,
+            description,
+            transactionDateFrom,
+            transactionDateTo,
+            categoryResourceCode,
+            incomeResourceCode,
+            accountResourceCode,
+            creditCardResourceCode,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
      /**
       * Compare this TransactionFilterDTO with another instance to check if they are equivalent based on their non-null fields. This method is useful for determining if two filter DTOs represent the same filtering criteria, even if some fields are null in one of the instances.
       * @param other the other TransactionFilterDTO to compare with
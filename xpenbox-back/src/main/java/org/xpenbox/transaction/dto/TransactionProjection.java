@@ -0,0 +1,58 @@
+package org.xpenbox.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.xpenbox.transaction.entity.Transaction.TransactionType;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Flat projection of a transaction and the fields of its relations shown in the transaction list.
+ * Relation fields are null when the transaction has no such relation.
+ * @param id ID of the transaction.
+ * @param resourceCode Resource code of the transaction.
+ * @param description Description of the transaction.
+ * @param transactionType Type of the transaction.
+ * @param amount Amount involved in the transaction.
+ * @param latitude Latitude where the transaction took place.
+ * @param longitude Longitude where the transaction took place.
+ * @param transactionDate Date and time of the transaction.
+ * @param categoryResourceCode Resource code of the category.
+ * @param categoryName Name of the category.
+ * @param categoryColor Color of the category.
+ * @param categoryBudget Budget of the category.
+ * @param categoryHasBudget Whether the category has a budget.
+ * @param incomeResourceCode Resource code of the income.
+ * @param incomeConcept Concept of the income.
+ * @param accountResourceCode Resource code of the account.
+ * @param accountName Name of the account.
+ * @param creditCardResourceCode Resource code of the credit card.
+ * @param creditCardName Name of the credit card.
+ * @param destinationAccountResourceCode Resource code of the destination account.
+ * @param destinationAccountName Name of the destination account.
+ */
+@RegisterForReflection
+public record TransactionProjection(
+    Long id,
+    String resourceCode,
+    String description,
+    TransactionType transactionType,
+    BigDecimal amount,
+    BigDecimal latitude,
+    BigDecimal longitude,
+    LocalDateTime transactionDate,
+    String categoryResourceCode,
+    String categoryName,
+    String categoryColor,
+    BigDecimal categoryBudget,
+    Boolean categoryHasBudget,
+    String incomeResourceCode,
+    String incomeConcept,
+    String accountResourceCode,
+    String accountName,
+    String creditCardResourceCode,
+    String creditCardName,
+    String destinationAccountResourceCode,
+    String destinationAccountName
+) { }
@@ -0,0 +1,43 @@
+package org.xpenbox.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.xpenbox.transaction.entity.Transaction.TransactionType;
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup.FundingSource;
+
+/**
+ * Total amount and count of a user's transactions in one rollup bucket, read either from the rollup table or computed
+ * from tbl_transaction.
+ * @param periodMonth First day of the month of the bucket.
+ * @param transactionType Transaction type of the bucket.
+ * @param categoryId ID of the category of the bucket, or 0 for transactions without category.
+ * @param fundingSource Funding source of the bucket.
+ * @param totalAmount Total amount of the transactions in the bucket.
+ * @param transactionCount Number of transactions in the bucket.
+ */
+public record TransactionRollupBucket(
+    LocalDate periodMonth,
+    TransactionType transactionType,
+    Long categoryId,
+    FundingSource fundingSource,
+    BigDecimal totalAmount,
+    Long transactionCount
+) {
+    /**
+     * @return The key identifying the bucket, without its totals.
+     */
+    public Key key() {
+        return new Key(periodMonth, transactionType, categoryId, fundingSource);
+    }
+
+    /**
+     * Key of a rollup bucket, matching the unique key of the rollup table.
+     */
+    public record Key(
+        LocalDate periodMonth,
+        TransactionType transactionType,
+        Long categoryId,
+        FundingSource fundingSource
+    ) { }
+}
@@ -0,0 +1,15 @@
+package org.xpenbox.transaction.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending change of the usage counters of a category, account or credit card.
+ * @param id ID of the category, account or credit card.
+ * @param delta Amount to add to the usage count, negative when usages were reverted.
+ * @param lastUsedDate Latest usage date to apply, or null if only usages were reverted.
+ */
+public record UsageDelta(
+    Long id,
+    long delta,
+    LocalDateTime lastUsedDate
+) { }
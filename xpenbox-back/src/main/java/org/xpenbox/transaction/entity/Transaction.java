@@ -1,15 +1,16 @@
 package org.xpenbox.transaction.entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.xpenbox.account.entity.Account;
 import org.xpenbox.category.entity.Category;
+import org.xpenbox.common.repository.Tsid;
 import org.xpenbox.creditcard.entity.CreditCard;
 import org.xpenbox.income.entity.Income;
 import org.xpenbox.user.entity.User;
@@ -17,21 +18,45 @@ import org.xpenbox.user.entity.User;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 
 /**
  * Transaction entity representing transaction records associated with users.
  */
 @Entity
+@NaturalIdCache
+@NamedEntityGraph(
+    name = Transaction.GRAPH_LIST,
+    attributeNodes = @NamedAttributeNode("category")
+)
+@NamedEntityGraph(
+    name = Transaction.GRAPH_DETAIL,
+    attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("income"),
+        @NamedAttributeNode("account"),
+        @NamedAttributeNode("creditCard"),
+        @NamedAttributeNode("destinationAccount")
+    }
+)
 @Table(name = "tbl_transaction")
 public class Transaction extends PanacheEntityBase {
+
+    /** Fetch plan for transaction lists rendered with their category only. */
+    public static final String GRAPH_LIST = "transaction-list";
+    /** Fetch plan for a single transaction whose relations are read or updated. */
+    public static final String GRAPH_DETAIL = "transaction-detail";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
+    @NaturalId
     @Column(name = "resource_code", nullable = false, unique = true, length = 100)
     private String resourceCode;
 
@@ -54,27 +79,28 @@ public class Transaction extends PanacheEntityBase {
     @Column(name = "transaction_date", nullable = false)
     private LocalDateTime transactionDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = true)
     private Category category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "income_id", nullable = true)
     private Income income;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = true)
     private Account account;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "credit_card_id", nullable = true)
     private CreditCard creditCard;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "destination_account_id", nullable = true)
     private Account destinationAccount;
 
-    @ManyToOne
+    @NaturalId
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
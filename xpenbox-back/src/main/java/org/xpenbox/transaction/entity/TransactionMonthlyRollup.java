@@ -0,0 +1,116 @@
+package org.xpenbox.transaction.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.xpenbox.transaction.entity.Transaction.TransactionType;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * TransactionMonthlyRollup entity holding the total amount and count of a user's transactions, grouped by month,
+ * transaction type, category and funding source. Rows are maintained incrementally when transactions are created,
+ * updated or rolled back, and can be rebuilt from tbl_transaction at any time.
+ * Transactions without category are grouped under category id 0.
+ */
+@Entity
+@Table(name = "tbl_transaction_monthly_rollup")
+public class TransactionMonthlyRollup extends PanacheEntityBase {
+
+    public static final Long UNCATEGORIZED_CATEGORY_ID = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "period_month", nullable = false)
+    private LocalDate periodMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "funding_source", nullable = false)
+    private FundingSource fundingSource;
+
+    @Column(name = "total_amount", nullable = false, precision = 13, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    public enum FundingSource {
+        ACCOUNT, CREDIT_CARD
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getPeriodMonth() {
+        return periodMonth;
+    }
+
+    public void setPeriodMonth(LocalDate periodMonth) {
+        this.periodMonth = periodMonth;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public FundingSource getFundingSource() {
+        return fundingSource;
+    }
+
+    public void setFundingSource(FundingSource fundingSource) {
+        this.fundingSource = fundingSource;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(Long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
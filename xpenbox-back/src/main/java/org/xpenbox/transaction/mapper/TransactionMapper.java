@@ -1,16 +1,22 @@
 package org.xpenbox.transaction.mapper;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import org.jboss.logging.Logger;
+import org.xpenbox.account.dto.AccountResponseDTO;
 import org.xpenbox.account.mapper.AccountMapper;
+import org.xpenbox.category.dto.CategoryResponseDTO;
 import org.xpenbox.category.mapper.CategoryMapper;
 import org.xpenbox.common.DateFunctions;
 import org.xpenbox.common.ResourceCode;
 import org.xpenbox.common.mapper.GenericMapper;
+import org.xpenbox.creditcard.dto.CreditCardResponseDTO;
 import org.xpenbox.creditcard.mapper.CreditCardMapper;
+import org.xpenbox.income.dto.IncomeResponseDTO;
 import org.xpenbox.income.mapper.IncomeMapper;
 import org.xpenbox.transaction.dto.TransactionCreateDTO;
+import org.xpenbox.transaction.dto.TransactionProjection;
 import org.xpenbox.transaction.dto.TransactionResponseDTO;
 import org.xpenbox.transaction.dto.TransactionUpdateDTO;
 import org.xpenbox.transaction.entity.Transaction;
@@ -109,6 +115,68 @@ public class TransactionMapper implements GenericMapper<Transaction, Transaction
                        .toList();
     }
 
+    /**
+     * Maps a list of TransactionProjections to a list of TransactionResponseDTOs.
+     * @param projections The list of TransactionProjections to be mapped.
+     * @return The corresponding list of TransactionResponseDTOs.
+     */
+    public List<TransactionResponseDTO> toDTOListFromProjections(List<TransactionProjection> projections) {
+        LOG.infof("Mapping list of %d TransactionProjections to list of TransactionResponseDTOs", projections.size());
+        return projections.stream()
+                          .map(this::toDTO)
+                          .toList();
+    }
+
+    /**
+     * Maps TransactionProjection to TransactionResponseDTO. Relations are mapped with the same fields as
+     * their mapper's toSimpleDTO, so the response is identical to the one built from the entity.
+     * @param projection The TransactionProjection to be mapped.
+     * @return The corresponding TransactionResponseDTO.
+     */
+    public TransactionResponseDTO toDTO(TransactionProjection projection) {
+        return new TransactionResponseDTO(
+            projection.resourceCode(),
+            projection.description(),
+            projection.transactionType(),
+            projection.amount(),
+            projection.latitude(),
+            projection.longitude(),
+            DateFunctions.convertToTimestamp(projection.transactionDate()),
+            projection.categoryResourceCode() != null ? new CategoryResponseDTO(
+                projection.categoryResourceCode(),
+                projection.categoryName(),
+                projection.categoryColor(),
+                BigDecimal.ZERO,
+                null,
+                null,
+                projection.categoryBudget(),
+                projection.categoryHasBudget(),
+                null
+            ) : null,
+            projection.incomeResourceCode() != null ? new IncomeResponseDTO(
+                projection.incomeResourceCode(),
+                projection.incomeConcept(),
+                null,
+                null,
+                null
+            ) : null,
+            toSimpleAccountDTO(projection.accountResourceCode(), projection.accountName()),
+            projection.creditCardResourceCode() != null ? new CreditCardResponseDTO(
+                projection.creditCardResourceCode(),
+                projection.creditCardName(),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
+            ) : null,
+            toSimpleAccountDTO(projection.destinationAccountResourceCode(), projection.destinationAccountName())
+        );
+    }
+
     /**
      * Maps TransactionCreateDTO to Transaction entity.
      * @param dto The TransactionCreateDTO to be mapped.
@@ -153,4 +221,8 @@ public class TransactionMapper implements GenericMapper<Transaction, Transaction
 
         return isUpdated;
     }
+
+    private AccountResponseDTO toSimpleAccountDTO(String resourceCode, String name) {
+        return resourceCode != null ? new AccountResponseDTO(resourceCode, name, null, null, null, null, null) : null;
+    }
 }
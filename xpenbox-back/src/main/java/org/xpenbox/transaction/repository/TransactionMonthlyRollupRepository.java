@@ -0,0 +1,178 @@
+package org.xpenbox.transaction.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.query.NativeQuery;
+import org.jboss.logging.Logger;
+import org.xpenbox.transaction.dto.TransactionRollupBucket;
+import org.xpenbox.transaction.entity.Transaction.TransactionType;
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup;
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup.FundingSource;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Repository for managing TransactionMonthlyRollup entities. Writes are single native statements
+ * (INSERT ... ON DUPLICATE KEY UPDATE), so concurrent transactions of the same user never lose increments.
+ */
+@ApplicationScoped
+public class TransactionMonthlyRollupRepository implements PanacheRepository<TransactionMonthlyRollup> {
+    private static final Logger LOG = Logger.getLogger(TransactionMonthlyRollupRepository.class);
+
+    /**
+     * Adds an amount and a count to the rollup row matching the given key, creating it when it does not exist.
+     * Negative values are used to remove transactions from the rollup.
+     *
+     * @param userId the ID of the user
+     * @param periodMonth the first day of the month
+     * @param transactionType the transaction type
+     * @param categoryId the ID of the category, or 0 for transactions without category
+     * @param fundingSource the funding source of the transactions
+     * @param amount the amount to add
+     * @param count the number of transactions to add
+     */
+    public void addToRollup(Long userId, LocalDate periodMonth, TransactionType transactionType, Long categoryId,
+            FundingSource fundingSource, BigDecimal amount, long count) {
+        LOG.debugf("Adding amount %s and count %d to rollup of user ID: %d, month: %s, type: %s, category ID: %d, funding source: %s",
+            amount, count, userId, periodMonth, transactionType, categoryId, fundingSource);
+
+        createRollupUpdate("""
+            INSERT INTO tbl_transaction_monthly_rollup
+                (user_id, period_month, transaction_type, category_id, funding_source, total_amount, transaction_count)
+            VALUES (:userId, :periodMonth, :transactionType, :categoryId, :fundingSource, :amount, :count)
+            ON DUPLICATE KEY UPDATE
+                total_amount = total_amount + VALUES(total_amount),
+                transaction_count = transaction_count + VALUES(transaction_count)
+            """)
+            .setParameter("userId", userId)
+            .setParameter("periodMonth", periodMonth)
+            .setParameter("transactionType", transactionType.name())
+            .setParameter("categoryId", categoryId)
+            .setParameter("fundingSource", fundingSource.name())
+            .setParameter("amount", amount)
+            .setParameter("count", count)
+            .executeUpdate();
+    }
+
+    /**
+     * Finds the non-empty rollup rows of a user between two months, both inclusive.
+     *
+     * @param userId the ID of the user
+     * @param fromMonth the first day of the first month
+     * @param toMonth the first day of the last month
+     * @return a list of rollup rows within the period
+     */
+    public List<TransactionMonthlyRollup> findByUserIdAndPeriodRange(Long userId, LocalDate fromMonth, LocalDate toMonth) {
+        LOG.debugf("Fetching rollups for User ID: %d between %s and %s", userId, fromMonth, toMonth);
+        return list("userId = :userId and periodMonth between :fromMonth and :toMonth and transactionCount > 0",
+            Parameters.with("userId", userId).and("fromMonth", fromMonth).and("toMonth", toMonth));
+    }
+
+    /**
+     * Moves the rollup rows of a category to another category, merging them with existing rows. Used when transactions
+     * lose their category because the category is deleted.
+     *
+     * @param userId the ID of the user
+     * @param categoryId the ID of the category whose rows are moved
+     * @param targetCategoryId the ID of the category receiving the rows
+     */
+    public void reassignCategory(Long userId, Long categoryId, Long targetCategoryId) {
+        LOG.debugf("Reassigning rollups of category ID: %d to category ID: %d for User ID: %d", categoryId, targetCategoryId, userId);
+
+        createRollupUpdate("""
+            INSERT INTO tbl_transaction_monthly_rollup
+                (user_id, period_month, transaction_type, category_id, funding_source, total_amount, transaction_count)
+            SELECT r.user_id, r.period_month, r.transaction_type, :targetCategoryId, r.funding_source, r.total_amount, r.transaction_count
+            FROM tbl_transaction_monthly_rollup r
+            WHERE r.user_id = :userId AND r.category_id = :categoryId
+            ON DUPLICATE KEY UPDATE
+                total_amount = tbl_transaction_monthly_rollup.total_amount + VALUES(total_amount),
+                transaction_count = tbl_transaction_monthly_rollup.transaction_count + VALUES(transaction_count)
+            """)
+            .setParameter("userId", userId)
+            .setParameter("categoryId", categoryId)
+            .setParameter("targetCategoryId", targetCategoryId)
+            .executeUpdate();
+
+        delete("userId = :userId and categoryId = :categoryId",
+            Parameters.with("userId", userId).and("categoryId", categoryId));
+    }
+
+    /**
+     * Finds every rollup row of a user, as buckets.
+     *
+     * @param userId the ID of the user
+     * @return a list of the user's rollup buckets, including the empty ones
+     */
+    public List<TransactionRollupBucket> findBucketsByUserId(Long userId) {
+        LOG.debugf("Fetching rollup buckets for User ID: %d", userId);
+        return getEntityManager().createQuery("""
+            SELECT new org.xpenbox.transaction.dto.TransactionRollupBucket(
+                r.periodMonth, r.transactionType, r.categoryId, r.fundingSource, r.totalAmount, r.transactionCount)
+            FROM TransactionMonthlyRollup r
+            WHERE r.userId = :userId
+            """, TransactionRollupBucket.class)
+            .setParameter("userId", userId)
+            .getResultList();
+    }
+
+    /**
+     * Computes the rollup buckets of a user from tbl_transaction, reading only the transactions of that user.
+     *
+     * @param userId the ID of the user
+     * @return a list of the buckets the user's transactions belong to
+     */
+    public List<TransactionRollupBucket> computeBucketsByUserId(Long userId) {
+        LOG.debugf("Computing rollup buckets from transactions for User ID: %d", userId);
+
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = getEntityManager().createNativeQuery("""
+            SELECT CAST(DATE_FORMAT(t.transaction_date, '%Y-%m-01') AS DATE) AS rollup_month,
+                t.transaction_type AS rollup_transaction_type,
+                COALESCE(t.category_id, 0) AS rollup_category_id,
+                CASE WHEN t.account_id IS NULL AND t.credit_card_id IS NOT NULL THEN 'CREDIT_CARD' ELSE 'ACCOUNT' END AS rollup_funding_source,
+                SUM(t.amount) AS rollup_total_amount,
+                COUNT(*) AS rollup_transaction_count
+            FROM tbl_transaction t
+            WHERE t.user_id = :userId
+            GROUP BY rollup_month, rollup_transaction_type, rollup_category_id, rollup_funding_source
+            """)
+            .unwrap(NativeQuery.class);
+
+        return query
+            .addScalar("rollup_month", LocalDate.class)
+            .addScalar("rollup_transaction_type", String.class)
+            .addScalar("rollup_category_id", Long.class)
+            .addScalar("rollup_funding_source", String.class)
+            .addScalar("rollup_total_amount", BigDecimal.class)
+            .addScalar("rollup_transaction_count", Long.class)
+            .setParameter("userId", userId)
+            .getResultList()
+            .stream()
+            .map(row -> new TransactionRollupBucket(
+                (LocalDate) row[0],
+                TransactionType.valueOf((String) row[1]),
+                (Long) row[2],
+                FundingSource.valueOf((String) row[3]),
+                (BigDecimal) row[4],
+                (Long) row[5]
+            ))
+            .toList();
+    }
+
+    /**
+     * Creates a native statement writing the rollup table. The statement is synchronized with the rollup entity only,
+     * so executing it does not invalidate every region of the second-level cache.
+     *
+     * @param sql the native SQL statement
+     * @return the native query
+     */
+    private NativeQuery<?> createRollupUpdate(String sql) {
+        NativeQuery<?> query = getEntityManager().createNativeQuery(sql).unwrap(NativeQuery.class);
+        return query.addSynchronizedEntityClass(TransactionMonthlyRollup.class);
+    }
+}
@@ -1,20 +1,27 @@
 package org.xpenbox.transaction.repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.SelectionQuery;
 import org.jboss.logging.Logger;
+import org.xpenbox.common.repository.FullTextFunctionContributor;
 import org.xpenbox.common.repository.GenericRepository;
+import org.xpenbox.transaction.dto.TransactionCursor;
 import org.xpenbox.transaction.dto.TransactionFilterDTO;
+import org.xpenbox.transaction.dto.TransactionProjection;
 import org.xpenbox.transaction.entity.Transaction;
-import org.xpenbox.transaction.entity.Transaction.TransactionType;
 import org.xpenbox.user.entity.User;
 
 import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
 
 /**
  * Repository class for Transaction entities.
@@ -23,6 +30,22 @@ import jakarta.enterprise.context.ApplicationScoped;
 public class TransactionRepository extends GenericRepository<Transaction> {
     private static final Logger LOG = Logger.getLogger(TransactionRepository.class);
 
+    /** Shortest word indexed by the FULLTEXT index (innodb_ft_min_token_size defaults to 3). */
+    private static final int FULL_TEXT_MIN_WORD_LENGTH = 3;
+    private static final Pattern FULL_TEXT_OPERATORS = Pattern.compile("[+\\-<>()~*\"@]");
+    private static final String MATCH_DESCRIPTION = FullTextFunctionContributor.MATCH_AGAINST + "(description, :descriptionQuery)";
+
+    /**
+     * Find a transaction by its resource code and user ID, fetching every association read when it is updated or deleted.
+     * @param resourceCode the resource code of the transaction
+     * @param userId the ID of the user
+     * @return an Optional containing the found transaction, or empty if not found
+     */
+    @Override
+    public Optional<Transaction> findByResourceCodeAndUserId(String resourceCode, Long userId) {
+        return findByResourceCodeAndUserId(resourceCode, userId, Transaction.GRAPH_DETAIL);
+    }
+
     /**
      * Find the last transaction for each user between specified dates.
      * @param from the start date
@@ -44,89 +67,124 @@ public class TransactionRepository extends GenericRepository<Transaction> {
     }
 
     /**
-     * Find assigned amounts by income IDs, user ID, and transaction type.
-     * @param incomeIds the list of income IDs
-     * @param userId the user ID
-     * @param transactionType the type of transaction
-     * @return a map of income ID to assigned amount
-     */
-    public Map<Long, BigDecimal> findAssignedAmountByIncomeIdsAndUserIdAndTransactionType(List<Long> incomeIds, Long userId, TransactionType transactionType) {
-        LOG.debugf("Calculating assigned amounts for Income IDs: %s, User ID: %d with type: %s", incomeIds, userId, transactionType);
-        String query = "SELECT income.id, SUM(amount) FROM Transaction "
-                     + "WHERE income.id IN :incomeIds AND user.id = :userId AND transactionType = :transactionType "
-                     + "GROUP BY income.id";
-        
-        List<Object[]> results = getEntityManager().createQuery(query, Object[].class)
-                .setParameter("incomeIds", incomeIds)
-                .setParameter("userId", userId)
-                .setParameter("transactionType", transactionType)
-                .getResultList();
-        
-        Map<Long, BigDecimal> assignedAmounts = results.stream()
-                .collect(Collectors.toMap(
-                    row -> (Long) row[0],
-                    row -> (BigDecimal) row[1]
-                ));
-        
-        LOG.debugf("Assigned amounts calculated: %s", assignedAmounts);
-        return assignedAmounts;
-    }
-
-    /**
-     * Find transactions by user ID and transaction type.
-     * @param incomeId the ID of the income
+     * Find transactions by user ID and period range.
      * @param userId the ID of the user
-     * @param type the type of transaction
+     * @param from the start of the period
+     * @param to the end of the period
      * @return a list of transactions matching the criteria
      */
-    public List<Transaction> findByIncomeIdAndUserIdAndType(Long incomeId, Long userId, TransactionType transactionType) {
-        LOG.debugf("Fetching transactions for Income ID: %d, User ID: %d with type: %s", incomeId, userId, transactionType);
-        return list("income.id = :incomeId and user.id = :userId and transactionType = :transactionType", 
-                Parameters.with("incomeId", incomeId).and("userId", userId).and("transactionType", transactionType));
+    public List<Transaction> findByUserIdAndPeriodRange(Long userId, LocalDateTime from, LocalDateTime to) {
+        LOG.debugf("Fetching transactions for User ID: %d between %s and %s", userId, from, to);
+        return withEntityGraph(find("user.id = :userId and transactionDate between :from and :to", 
+                Parameters.with("userId", userId).and("from", from).and("to", to)), Transaction.GRAPH_LIST)
+                .list();
     }
-    
+
     /**
-     * Find transactions by user ID and period range.
+     * Find the most recent transactions by user ID and period range, ordered by transaction date descending.
      * @param userId the ID of the user
      * @param from the start of the period
      * @param to the end of the period
-     * @return a list of transactions matching the criteria
+     * @param limit the maximum number of transactions to return
+     * @return a list of the most recent transactions matching the criteria
      */
-    public List<Transaction> findByUserIdAndPeriodRange(Long userId, LocalDateTime from, LocalDateTime to) {
-        LOG.debugf("Fetching transactions for User ID: %d between %s and %s", userId, from, to);
-        return list("user.id = :userId and transactionDate between :from and :to", 
-                Parameters.with("userId", userId).and("from", from).and("to", to));
+    public List<Transaction> findLatestByUserIdAndPeriodRange(Long userId, LocalDateTime from, LocalDateTime to, int limit) {
+        LOG.debugf("Fetching latest %d transactions for User ID: %d between %s and %s", limit, userId, from, to);
+        return withEntityGraph(find("user.id = :userId and transactionDate between :from and :to order by transactionDate desc, id desc",
+                Parameters.with("userId", userId).and("from", from).and("to", to)), Transaction.GRAPH_LIST)
+                .page(0, limit)
+                .list();
     }
 
     /**
-     * Find transactions based on filter criteria and user.
+     * Find transactions based on filter criteria and user, projected to the columns the transaction list renders.
+     * Relations are read through LEFT JOINs in the same statement, so no entity is hydrated or tracked by the persistence context.
+     * Whenever a page size is set, one row beyond it is fetched, so callers can tell whether there is a next page without
+     * counting; without a page number (or a usable cursor) the first page is read.
      * @param filterDTO the filter criteria
      * @param user the user
-     * @return a list of transactions matching the filter criteria
+     * @return a list of transaction projections matching the filter criteria, with at most pageSize + 1 elements when paginated
      */
-    public List<Transaction> findByFilter(TransactionFilterDTO filterDTO, User user) {
-        LOG.debugf("Filtering transactions with filterDTO: %s for user: %s", filterDTO, user);
-        if (filterDTO != null) {
-            // Use explicit LEFT JOIN query when filtering by accountResourceCode
-            if (filterDTO.accountResourceCode() != null) {
-                return findByFilterWithAccountJoin(filterDTO, user);
+    public List<TransactionProjection> findProjectionsByFilter(TransactionFilterDTO filterDTO, User user) {
+        LOG.debugf("Filtering transaction projections with filterDTO: %s for user: %s", filterDTO, user);
+        TypedQuery<TransactionProjection> query = createProjectionQuery(filterDTO, user);
+
+        if (filterDTO.pageSize() != null) {
+            if (usesCursor(filterDTO)) {
+                LOG.debugf("Applying keyset pagination - Page Size: %d", filterDTO.pageSize());
+            } else {
+                int pageNumber = filterDTO.pageNumber() != null ? filterDTO.pageNumber() : 0;
+                LOG.debugf("Applying pagination - Page Number: %d, Page Size: %d", pageNumber, filterDTO.pageSize());
+                query.setFirstResult(pageNumber * filterDTO.pageSize());
             }
-            
-            String filterQuery = buildFilterQuery(filterDTO, true);
-            Parameters params = buildParameters(filterDTO, user);
+            query.setMaxResults(filterDTO.pageSize() + 1);
+        }
 
-            if (filterDTO.pageNumber() != null && filterDTO.pageSize() != null) {
-                int pageNumber = filterDTO.pageNumber();
-                int pageSize = filterDTO.pageSize();
-                LOG.debugf("Applying pagination - Page Number: %d, Page Size: %d", pageNumber, pageSize);
-                return find(filterQuery, params)
-                        .page(pageNumber, pageSize)
-                        .list();
-            }
+        return query.getResultList();
+    }
 
-            return list(filterQuery, params);
+    /**
+     * Scroll over every transaction matching the filter criteria, projected like {@link #findProjectionsByFilter}, with a
+     * forward-only cursor. Rows are fetched from the database in chunks of the given fetch size while the caller iterates,
+     * so the whole result is never held in memory. Pagination fields of the filter must be empty.
+     * @param filterDTO the filter criteria, without pagination
+     * @param user the user
+     * @param fetchSize the number of rows fetched per round trip
+     * @return the scrollable results, to be closed by the caller
+     */
+    public ScrollableResults<TransactionProjection> scrollProjectionsByFilter(TransactionFilterDTO filterDTO, User user, int fetchSize) {
+        LOG.debugf("Scrolling transaction projections with filterDTO: %s for user: %s", filterDTO, user);
+        @SuppressWarnings("unchecked")
+        SelectionQuery<TransactionProjection> query = createProjectionQuery(filterDTO, user).unwrap(SelectionQuery.class);
+        return query.setFetchSize(fetchSize)
+            .setReadOnly(true)
+            .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    /**
+     * Create the projection query of the transaction filter, with every parameter set, including the keyset cursor.
+     * @param filterDTO the filter criteria
+     * @param user the user
+     * @return the projection query
+     * @throws org.xpenbox.exception.BadRequestException if the cursor is malformed
+     */
+    private TypedQuery<TransactionProjection> createProjectionQuery(TransactionFilterDTO filterDTO, User user) {
+        StringBuilder hql = new StringBuilder("SELECT new ").append(TransactionProjection.class.getName()).append("(");
+        hql.append("t.id, t.resourceCode, t.description, t.transactionType, t.amount, t.latitude, t.longitude, t.transactionDate, ");
+        hql.append("c.resourceCode, c.name, c.color, c.budget, c.hasBudget, ");
+        hql.append("i.resourceCode, i.concept, ");
+        hql.append("a.resourceCode, a.name, ");
+        hql.append("cc.resourceCode, cc.name, ");
+        hql.append("da.resourceCode, da.name) ");
+        hql.append("FROM Transaction t ");
+        hql.append("LEFT JOIN t.category c ");
+        hql.append("LEFT JOIN t.income i ");
+        hql.append("LEFT JOIN t.account a ");
+        hql.append("LEFT JOIN t.creditCard cc ");
+        hql.append("LEFT JOIN t.destinationAccount da ");
+        hql.append("WHERE t.user.id = :userId ");
+
+        if (filterDTO.accountResourceCode() != null) {
+            hql.append("AND (a.resourceCode = :accountResourceCode OR da.resourceCode = :accountResourceCode) ");
         }
-        return listAll();
+        appendCommonFilters(hql, filterDTO);
+        if (usesCursor(filterDTO)) {
+            hql.append("AND (t.transactionDate < :cursorTransactionDate OR (t.transactionDate = :cursorTransactionDate AND t.id < :cursorId)) ");
+        }
+        hql.append("ORDER BY ");
+        if (usesFullText(filterDTO)) {
+            hql.append(FullTextFunctionContributor.MATCH_AGAINST).append("(t.description, :descriptionQuery) DESC, ");
+        }
+        hql.append("t.transactionDate DESC, t.id DESC");
+
+        TypedQuery<TransactionProjection> query = getEntityManager().createQuery(hql.toString(), TransactionProjection.class);
+        setCommonParameters(query, filterDTO, user);
+        if (usesCursor(filterDTO)) {
+            TransactionCursor cursor = TransactionCursor.decode(filterDTO.cursor());
+            query.setParameter("cursorTransactionDate", cursor.transactionDate());
+            query.setParameter("cursorId", cursor.id());
+        }
+        return query;
     }
 
     /**
@@ -143,7 +201,7 @@ public class TransactionRepository extends GenericRepository<Transaction> {
                 return countByFilterWithAccountJoin(filterDTO, user);
             }
             
-            String filterQuery = buildFilterQuery(filterDTO, false);
+            String filterQuery = buildFilterQuery(filterDTO);
             Parameters params = buildParameters(filterDTO, user);
 
             LOG.debugf("Counting with filterQuery: %s and params: %s", filterQuery, params);
@@ -168,14 +226,14 @@ public class TransactionRepository extends GenericRepository<Transaction> {
     }
 
     /**
-     * Find transactions by category ID and user ID.
+     * Remove a category from every transaction of a user that uses it, in a single UPDATE statement.
      * @param categoryId the ID of the category
      * @param userId the ID of the user
-     * @return a list of transactions matching the criteria
+     * @return the number of updated transactions
      */
-    public List<Transaction> findAllByCategoryIdAndUserId(Long categoryId, Long userId) {
-        LOG.debugf("Finding transactions for Category ID: %d and User ID: %d", categoryId, userId);
-        return list("category.id = :categoryId and user.id = :userId", 
+    public int detachCategory(Long categoryId, Long userId) {
+        LOG.debugf("Removing Category ID: %d from transactions of User ID: %d", categoryId, userId);
+        return bulkUpdate("category = null where category.id = :categoryId and user.id = :userId",
                 Parameters.with("categoryId", categoryId).and("userId", userId));
     }
 
@@ -199,6 +257,10 @@ public class TransactionRepository extends GenericRepository<Transaction> {
         }
 
         if (filterDTO.description() != null) {
+            String fullTextQuery = toFullTextQuery(filterDTO.description());
+            if (fullTextQuery != null) {
+                params.and("descriptionQuery", fullTextQuery);
+            }
             params.and("description", filterDTO.description());
         }
 
@@ -231,10 +293,9 @@ public class TransactionRepository extends GenericRepository<Transaction> {
     /**
      * Build filter query string based on filter criteria.
      * @param filterDTO the filter criteria
-     * @param orderByDateDesc whether to order by date descending
      * @return the constructed filter query string
      */
-    private String buildFilterQuery(TransactionFilterDTO filterDTO, boolean orderByDateDesc) {
+    private String buildFilterQuery(TransactionFilterDTO filterDTO) {
         LOG.debugf("Building filter query for filterDTO: %s", filterDTO);
 
         StringBuilder queryBuilder = new StringBuilder("user.id = :userId");
@@ -248,6 +309,9 @@ public class TransactionRepository extends GenericRepository<Transaction> {
         }
         
         if (filterDTO.description() != null) {
+            if (toFullTextQuery(filterDTO.description()) != null) {
+                queryBuilder.append(" and ").append(MATCH_DESCRIPTION).append(" > 0");
+            }
             queryBuilder.append(" and lower(description) like lower(concat('%', :description, '%'))");
         }
 
@@ -264,7 +328,7 @@ public class TransactionRepository extends GenericRepository<Transaction> {
         }
 
         if (filterDTO.accountResourceCode() != null) {
-            // This condition is handled by findByFilterWithAccountJoin/countByFilterWithAccountJoin
+            // This condition is handled by countByFilterWithAccountJoin
             // to avoid INNER JOIN issues with nullable destinationAccount
             queryBuilder.append(" and account.resourceCode = :accountResourceCode");
         }
@@ -273,40 +337,9 @@ public class TransactionRepository extends GenericRepository<Transaction> {
             queryBuilder.append(" and creditCard.resourceCode = :creditCardResourceCode");
         }
 
-        if (orderByDateDesc) {
-            queryBuilder.append(" order by transactionDate DESC");
-        }
-
         return queryBuilder.toString();
     }
 
-    /**
-     * Find transactions by filter with explicit LEFT JOIN for destinationAccount.
-     * This method is used when filtering by accountResourceCode to avoid INNER JOIN issues.
-     * @param filterDTO the filter criteria
-     * @param user the user
-     * @return a list of transactions matching the filter criteria
-     */
-    private List<Transaction> findByFilterWithAccountJoin(TransactionFilterDTO filterDTO, User user) {
-        StringBuilder hql = new StringBuilder("SELECT t FROM Transaction t ");
-        hql.append("LEFT JOIN t.destinationAccount da ");
-        hql.append("WHERE t.user.id = :userId ");
-        hql.append("AND (t.account.resourceCode = :accountResourceCode OR da.resourceCode = :accountResourceCode) ");
-        
-        appendCommonFilters(hql, filterDTO);
-        hql.append(" ORDER BY t.transactionDate DESC");
-        
-        var query = getEntityManager().createQuery(hql.toString(), Transaction.class);
-        setCommonParameters(query, filterDTO, user);
-        
-        if (filterDTO.pageNumber() != null && filterDTO.pageSize() != null) {
-            query.setFirstResult(filterDTO.pageNumber() * filterDTO.pageSize());
-            query.setMaxResults(filterDTO.pageSize());
-        }
-        
-        return query.getResultList();
-    }
-
     /**
      * Count transactions by filter with explicit LEFT JOIN for destinationAccount.
      * This method is used when filtering by accountResourceCode to avoid INNER JOIN issues.
@@ -341,6 +374,9 @@ public class TransactionRepository extends GenericRepository<Transaction> {
             hql.append("AND t.transactionType = :transactionType ");
         }
         if (filterDTO.description() != null) {
+            if (toFullTextQuery(filterDTO.description()) != null) {
+                hql.append("AND ").append(FullTextFunctionContributor.MATCH_AGAINST).append("(t.description, :descriptionQuery) > 0 ");
+            }
             hql.append("AND LOWER(t.description) LIKE LOWER(CONCAT('%', :description, '%')) ");
         }
         if (filterDTO.transactionDateFrom() != null && filterDTO.transactionDateTo() != null) {
@@ -365,7 +401,9 @@ public class TransactionRepository extends GenericRepository<Transaction> {
      */
     private void setCommonParameters(jakarta.persistence.Query query, TransactionFilterDTO filterDTO, User user) {
         query.setParameter("userId", user.id);
-        query.setParameter("accountResourceCode", filterDTO.accountResourceCode());
+        if (filterDTO.accountResourceCode() != null) {
+            query.setParameter("accountResourceCode", filterDTO.accountResourceCode());
+        }
         
         if (filterDTO.resourceCode() != null) {
             query.setParameter("resourceCode", filterDTO.resourceCode());
@@ -374,6 +412,10 @@ public class TransactionRepository extends GenericRepository<Transaction> {
             query.setParameter("transactionType", filterDTO.transactionType());
         }
         if (filterDTO.description() != null) {
+            String fullTextQuery = toFullTextQuery(filterDTO.description());
+            if (fullTextQuery != null) {
+                query.setParameter("descriptionQuery", fullTextQuery);
+            }
             query.setParameter("description", filterDTO.description());
         }
         if (filterDTO.transactionDateFrom() != null && filterDTO.transactionDateTo() != null) {
@@ -390,4 +432,40 @@ public class TransactionRepository extends GenericRepository<Transaction> {
             query.setParameter("creditCardResourceCode", filterDTO.creditCardResourceCode());
         }
     }
+
+    /**
+     * Whether the page continues after the cursor. Description searches are ordered by relevance, which the
+     * (transactionDate, id) cursor cannot continue, so they are always paginated by page number.
+     * @param filterDTO the filter criteria
+     * @return true if the keyset predicate applies
+     */
+    private boolean usesCursor(TransactionFilterDTO filterDTO) {
+        return filterDTO.cursor() != null && filterDTO.description() == null;
+    }
+
+    /**
+     * Whether the description filter is resolved through the FULLTEXT index.
+     * @param filterDTO the filter criteria
+     * @return true if the description filter uses full-text search
+     */
+    private boolean usesFullText(TransactionFilterDTO filterDTO) {
+        return filterDTO.description() != null && toFullTextQuery(filterDTO.description()) != null;
+    }
+
+    /**
+     * Build a boolean mode full-text query requiring every word of the description as a prefix, e.g. "super market"
+     * becomes "+super* +market*". Full-text operators typed by the user are removed, and words shorter than the
+     * indexed token size are skipped since the index can not match them. The LIKE filter is always applied next to it,
+     * so every result contains the description; unlike a LIKE-only search, a word typed by the user only matches at
+     * the start of a word of the description, e.g. "market" does not find "supermarket".
+     * @param description the description filter
+     * @return the full-text query, or null if the description has no indexable word and only the LIKE filter is used
+     */
+    private String toFullTextQuery(String description) {
+        String query = Arrays.stream(FULL_TEXT_OPERATORS.matcher(description).replaceAll(" ").trim().split("\\s+"))
+            .filter(word -> word.length() >= FULL_TEXT_MIN_WORD_LENGTH)
+            .map(word -> "+" + word + "*")
+            .collect(Collectors.joining(" "));
+        return query.isEmpty() ? null : query;
+    }
 }
@@ -0,0 +1,100 @@
+package org.xpenbox.transaction.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import org.xpenbox.account.entity.Account;
+import org.xpenbox.category.entity.Category;
+import org.xpenbox.creditcard.entity.CreditCard;
+import org.xpenbox.transaction.dto.UsageDelta;
+import org.xpenbox.transaction.service.IUsageCounterService.UsageTarget;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Repository class for the usage counters of categories, accounts and credit cards.
+ */
+@ApplicationScoped
+public class UsageCounterRepository {
+    private static final Logger LOG = Logger.getLogger(UsageCounterRepository.class);
+
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * Adds to the usage count, never below zero, and keeps the latest of the current and the given last used date.
+     * GREATEST returns NULL when one of the dates is NULL, so COALESCE falls back to whichever date is present.
+     */
+    private static final String UPDATE_USAGE_SQL = """
+        UPDATE %s
+        SET usage_count = GREATEST(usage_count + ?, 0),
+            last_used_date = COALESCE(GREATEST(last_used_date, ?), ?, last_used_date)
+        WHERE id = ?
+        """;
+
+    private final EntityManager entityManager;
+
+    public UsageCounterRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Applies usage deltas to the entities of a type as relative updates, sent to the database in JDBC batches.
+     * The updated entities are evicted from the second-level cache when their type is cached.
+     * @param target the type of the entities
+     * @param deltas the usage deltas to apply
+     */
+    public void applyUsageDeltas(UsageTarget target, List<UsageDelta> deltas) {
+        LOG.debugf("Applying %d usage deltas to %s", deltas.size(), target);
+        Session session = entityManager.unwrap(Session.class);
+
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_USAGE_SQL.formatted(getTableName(target)))) {
+                int batched = 0;
+                for (UsageDelta delta : deltas) {
+                    statement.setLong(1, delta.delta());
+                    if (delta.lastUsedDate() != null) {
+                        statement.setObject(2, delta.lastUsedDate());
+                        statement.setObject(3, delta.lastUsedDate());
+                    } else {
+                        statement.setNull(2, Types.TIMESTAMP);
+                        statement.setNull(3, Types.TIMESTAMP);
+                    }
+                    statement.setLong(4, delta.id());
+                    statement.addBatch();
+
+                    if (++batched % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (batched % BATCH_SIZE != 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+
+        Cache cache = session.getSessionFactory().getCache();
+        Class<?> entityClass = getEntityClass(target);
+        deltas.forEach(delta -> cache.evict(entityClass, delta.id()));
+    }
+
+    private String getTableName(UsageTarget target) {
+        return switch (target) {
+            case CATEGORY -> "tbl_category";
+            case ACCOUNT -> "tbl_account";
+            case CREDIT_CARD -> "tbl_credit_card";
+        };
+    }
+
+    private Class<?> getEntityClass(UsageTarget target) {
+        return switch (target) {
+            case CATEGORY -> Category.class;
+            case ACCOUNT -> Account.class;
+            case CREDIT_CARD -> CreditCard.class;
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package org.xpenbox.transaction.scheduler;
+
+import org.jboss.logging.Logger;
+import org.xpenbox.transaction.repository.TransactionMonthlyRollupRepository;
+import org.xpenbox.transaction.repository.TransactionRepository;
+import org.xpenbox.transaction.service.ITransactionRollupService;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+
+/**
+ * Scheduler class for keeping the monthly transaction rollups consistent with tbl_transaction. Rollups are maintained
+ * incrementally by the transaction service; this job verifies them periodically, user by user, and corrects the
+ * buckets that drifted, and backfills them on startup when the rollup table is still empty.
+ */
+@Singleton
+public class TransactionRollupScheduler {
+    private static final Logger LOG = Logger.getLogger(TransactionRollupScheduler.class);
+
+    private final ITransactionRollupService transactionRollupService;
+    private final TransactionMonthlyRollupRepository transactionMonthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    public TransactionRollupScheduler(
+        ITransactionRollupService transactionRollupService,
+        TransactionMonthlyRollupRepository transactionMonthlyRollupRepository,
+        TransactionRepository transactionRepository
+    ) {
+        LOG.info("TransactionRollupScheduler initialized");
+        this.transactionRollupService = transactionRollupService;
+        this.transactionMonthlyRollupRepository = transactionMonthlyRollupRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Backfills the rollups on startup when there are transactions but no rollup rows, e.g. right after the rollup table is created.
+     *
+     * @param event the startup event
+     */
+    void onStart(@Observes StartupEvent event) {
+        boolean missingRollups = QuarkusTransaction.requiringNew().call(() ->
+            transactionMonthlyRollupRepository.count() == 0 && transactionRepository.count() > 0
+        );
+
+        if (missingRollups) {
+            LOG.info("Rollup table is empty, backfilling rollups from transactions");
+            transactionRollupService.reconcileAll();
+        }
+    }
+
+    /**
+     * Reconciles the rollups of every user based on a cron expression defined in the application properties.
+     * The rollup service runs every user in its own transaction, so this method does not start one.
+     */
+    @Scheduled(cron = "{scheduler.transactions.rollup.rebuild.cron}")
+    void scheduleRebuildRollupsTask() {
+        LOG.info("Running scheduled transaction rollup reconciliation task");
+        transactionRollupService.reconcileAll();
+    }
+}
@@ -0,0 +1,44 @@
+package org.xpenbox.transaction.scheduler;
+
+import org.jboss.logging.Logger;
+import org.xpenbox.transaction.service.IUsageCounterService;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.scheduler.Scheduled.ConcurrentExecution;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+
+/**
+ * Scheduler class for writing the buffered usage counters of categories, accounts and credit cards to the database,
+ * periodically and when the application shuts down.
+ */
+@Singleton
+public class UsageCounterScheduler {
+    private static final Logger LOG = Logger.getLogger(UsageCounterScheduler.class);
+
+    private final IUsageCounterService usageCounterService;
+
+    public UsageCounterScheduler(IUsageCounterService usageCounterService) {
+        LOG.info("UsageCounterScheduler initialized");
+        this.usageCounterService = usageCounterService;
+    }
+
+    /**
+     * Flushes the pending usage counters at the interval defined in the application properties.
+     */
+    @Scheduled(every = "{scheduler.usage.counters.flush.every}", concurrentExecution = ConcurrentExecution.SKIP)
+    void scheduleFlushUsageCountersTask() {
+        usageCounterService.flush();
+    }
+
+    /**
+     * Flushes the pending usage counters before the application shuts down.
+     *
+     * @param event the shutdown event
+     */
+    void onStop(@Observes ShutdownEvent event) {
+        LOG.info("Flushing usage counters before shutdown");
+        usageCounterService.flush();
+    }
+}
@@ -0,0 +1,57 @@
+package org.xpenbox.transaction.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.xpenbox.category.entity.Category;
+import org.xpenbox.transaction.entity.Transaction;
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup;
+
+/**
+ * Service interface for maintaining and reading the monthly transaction rollups.
+ */
+public interface ITransactionRollupService {
+
+    /**
+     * Adds a transaction to the rollup of its month.
+     * @param transaction The transaction to add.
+     */
+    void addTransaction(Transaction transaction);
+
+    /**
+     * Removes a transaction from the rollup of its month.
+     * @param transaction The transaction to remove.
+     */
+    void removeTransaction(Transaction transaction);
+
+    /**
+     * Moves a transaction whose date or category changed from its previous rollup row to the current one.
+     * @param transaction The transaction with its current date and category.
+     * @param previousTransactionDate The date of the transaction before the change.
+     * @param previousCategory The category of the transaction before the change, or null if it had none.
+     */
+    void moveTransaction(Transaction transaction, LocalDateTime previousTransactionDate, Category previousCategory);
+
+    /**
+     * Moves the rollups of a category to the uncategorized rollups, when the category is removed from its transactions.
+     * @param userId The ID of the user.
+     * @param categoryId The ID of the category.
+     */
+    void uncategorize(Long userId, Long categoryId);
+
+    /**
+     * Finds the rollups of a user for the months covered by a date range.
+     * @param userId The ID of the user.
+     * @param from The start of the date range.
+     * @param to The end of the date range.
+     * @return A list of rollups for the months within the date range.
+     */
+    List<TransactionMonthlyRollup> findByUserIdAndPeriodRange(Long userId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Verifies the rollups of every user against the transactions and corrects the buckets that drifted.
+     * Each user is verified in its own short transaction, so concurrent writes only wait for the user being verified.
+     * @return The number of rollup buckets corrected.
+     */
+    int reconcileAll();
+}
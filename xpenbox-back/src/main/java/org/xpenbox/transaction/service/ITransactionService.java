@@ -1,18 +1,34 @@
 package org.xpenbox.transaction.service;
 
+import java.util.List;
+
 import org.xpenbox.common.dto.APIPageableDTO;
 import org.xpenbox.common.service.IGenericService;
+import org.xpenbox.transaction.dto.TransactionBatchCreateDTO;
+import org.xpenbox.transaction.dto.TransactionBatchItemResultDTO;
 import org.xpenbox.transaction.dto.TransactionCreateDTO;
+import org.xpenbox.transaction.dto.TransactionExportFormat;
 import org.xpenbox.transaction.dto.TransactionFilterDTO;
 import org.xpenbox.transaction.dto.TransactionResponseDTO;
 import org.xpenbox.transaction.dto.TransactionUpdateDTO;
 import org.xpenbox.transaction.entity.Transaction;
 
+import jakarta.ws.rs.core.StreamingOutput;
+
 /**
  * Service interface for managing transactions.
  */
 public interface ITransactionService extends IGenericService<Transaction, TransactionCreateDTO, TransactionUpdateDTO, TransactionResponseDTO> {
     
+    /**
+     * Creates a batch of transactions in order. Items that cannot be created are reported in the results without
+     * preventing the creation of the others.
+     * @param batchCreateDTO The DTO containing the transactions to create.
+     * @param userEmail The email of the user creating the transactions.
+     * @return The result of every item, in batch order.
+     */
+    List<TransactionBatchItemResultDTO> createBatch(TransactionBatchCreateDTO batchCreateDTO, String userEmail);
+
     /**
      * Rollbacks a transaction by its resource code.
      * @param resourceCode The resource code of the transaction to rollback.
@@ -27,4 +43,13 @@ public interface ITransactionService extends IGenericService<Transaction, Transa
      * @return A pageable DTO containing the filtered transactions.
      */
     APIPageableDTO<TransactionResponseDTO, TransactionFilterDTO> filterTransactions(TransactionFilterDTO filterDTO, String userEmail);
+
+    /**
+     * Exports every transaction matching the provided filter criteria, ignoring pagination.
+     * @param filterDTO The DTO containing filter criteria.
+     * @param format The export format.
+     * @param userEmail The email of the user requesting the export.
+     * @return A streaming output writing the transactions in the requested format.
+     */
+    StreamingOutput exportTransactions(TransactionFilterDTO filterDTO, TransactionExportFormat format, String userEmail);
 }
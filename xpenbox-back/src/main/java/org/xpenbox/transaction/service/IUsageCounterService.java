@@ -0,0 +1,41 @@
+package org.xpenbox.transaction.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for the usage counters (usage count and last used date) of categories, accounts and credit cards.
+ * Usages are aggregated in memory and written behind in batches, so they are eventually consistent.
+ */
+public interface IUsageCounterService {
+
+    /**
+     * Entities whose usage is counted.
+     */
+    enum UsageTarget {
+        CATEGORY,
+        ACCOUNT,
+        CREDIT_CARD
+    }
+
+    /**
+     * Records a usage of an entity. When called inside a transaction, it is only recorded if the transaction commits.
+     * @param target The type of the entity.
+     * @param id The ID of the entity.
+     * @param usedDate The date of the usage.
+     */
+    void recordUsage(UsageTarget target, Long id, LocalDateTime usedDate);
+
+    /**
+     * Reverts a usage of an entity. When called inside a transaction, it is only reverted if the transaction commits.
+     * @param target The type of the entity.
+     * @param id The ID of the entity.
+     */
+    void revertUsage(UsageTarget target, Long id);
+
+    /**
+     * Writes every pending usage to the database in its own transaction. Pending usages are kept for the next flush
+     * if writing them fails, and new usages are written synchronously until a flush succeeds.
+     * @return The number of entities whose usage counters were updated.
+     */
+    int flush();
+}
@@ -0,0 +1,24 @@
+package org.xpenbox.transaction.service.impl;
+
+import java.math.BigDecimal;
+
+import org.xpenbox.account.entity.Account;
+import org.xpenbox.creditcard.entity.CreditCard;
+import org.xpenbox.income.entity.Income;
+
+/**
+ * Balance changes made by a transaction being created. Every operation validates the change and throws a
+ * business exception when it is not allowed, e.g. insufficient funds or an exceeded credit limit.
+ */
+interface TransactionBalances {
+
+    void subtractFromAccount(Account account, BigDecimal amount);
+
+    void addToAccount(Account account, BigDecimal amount);
+
+    void addToCreditCard(CreditCard creditCard, BigDecimal amount);
+
+    void addPaymentToCreditCard(CreditCard creditCard, BigDecimal amount);
+
+    void allocateFromIncome(Income income, BigDecimal amount);
+}
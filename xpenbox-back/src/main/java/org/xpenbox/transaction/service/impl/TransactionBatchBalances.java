@@ -0,0 +1,127 @@
+package org.xpenbox.transaction.service.impl;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.xpenbox.account.entity.Account;
+import org.xpenbox.creditcard.entity.CreditCard;
+import org.xpenbox.exception.BadRequestException;
+import org.xpenbox.exception.InsufficientFoundsException;
+import org.xpenbox.income.entity.Income;
+
+/**
+ * Balance changes of a transaction batch, coalesced per account, credit card and income so each one is written with
+ * a single statement once the whole batch is validated. Each change is validated against the loaded balance plus the
+ * changes of the previous items, in batch order. The changes of an item are kept apart until the item is committed,
+ * so an item failing halfway leaves no partial change behind.
+ */
+final class TransactionBatchBalances implements TransactionBalances {
+
+    private final Map<Long, BigDecimal> accountDeltas = new LinkedHashMap<>();
+    private final Map<Long, BigDecimal> creditCardDeltas = new LinkedHashMap<>();
+    private final Map<Long, BigDecimal> incomeAllocations = new LinkedHashMap<>();
+    private final Map<Long, Income> incomes = new HashMap<>();
+
+    private final Map<Long, BigDecimal> itemAccountDeltas = new HashMap<>();
+    private final Map<Long, BigDecimal> itemCreditCardDeltas = new HashMap<>();
+    private final Map<Long, BigDecimal> itemIncomeAllocations = new HashMap<>();
+
+    @Override
+    public void subtractFromAccount(Account account, BigDecimal amount) {
+        requireActive(account);
+        BigDecimal projectedBalance = account.getBalance().add(pending(accountDeltas, itemAccountDeltas, account.id)).subtract(amount);
+        if (projectedBalance.signum() < 0) {
+            throw new InsufficientFoundsException("Insufficient funds for the transaction");
+        }
+        itemAccountDeltas.merge(account.id, amount.negate(), BigDecimal::add);
+    }
+
+    @Override
+    public void addToAccount(Account account, BigDecimal amount) {
+        requireActive(account);
+        itemAccountDeltas.merge(account.id, amount, BigDecimal::add);
+    }
+
+    @Override
+    public void addToCreditCard(CreditCard creditCard, BigDecimal amount) {
+        BigDecimal projectedBalance = creditCard.getCurrentBalance().add(pending(creditCardDeltas, itemCreditCardDeltas, creditCard.id)).add(amount);
+        if (projectedBalance.compareTo(creditCard.getCreditLimit()) > 0) {
+            throw new InsufficientFoundsException("Credit limit exceeded");
+        }
+        itemCreditCardDeltas.merge(creditCard.id, amount, BigDecimal::add);
+    }
+
+    @Override
+    public void addPaymentToCreditCard(CreditCard creditCard, BigDecimal amount) {
+        if (!creditCard.getState()) {
+            throw new BadRequestException("CreditCard is already deactivated");
+        }
+        itemCreditCardDeltas.merge(creditCard.id, amount.negate(), BigDecimal::add);
+    }
+
+    @Override
+    public void allocateFromIncome(Income income, BigDecimal amount) {
+        BigDecimal projectedAllocation = income.getAllocatedAmount().add(pending(incomeAllocations, itemIncomeAllocations, income.id)).add(amount);
+        if (projectedAllocation.compareTo(income.getTotalAmount()) > 0) {
+            throw new BadRequestException("Transaction", "amount", "exceeds the total income limit");
+        }
+        itemIncomeAllocations.merge(income.id, amount, BigDecimal::add);
+        incomes.put(income.id, income);
+    }
+
+    /**
+     * Keeps the changes of the current item as part of the batch.
+     */
+    void commitItem() {
+        itemAccountDeltas.forEach((id, delta) -> accountDeltas.merge(id, delta, BigDecimal::add));
+        itemCreditCardDeltas.forEach((id, delta) -> creditCardDeltas.merge(id, delta, BigDecimal::add));
+        itemIncomeAllocations.forEach((id, amount) -> incomeAllocations.merge(id, amount, BigDecimal::add));
+        discardItem();
+    }
+
+    /**
+     * Drops the changes of the current item.
+     */
+    void discardItem() {
+        itemAccountDeltas.clear();
+        itemCreditCardDeltas.clear();
+        itemIncomeAllocations.clear();
+    }
+
+    /**
+     * @return The net balance change by account ID.
+     */
+    Map<Long, BigDecimal> accountDeltas() {
+        return accountDeltas;
+    }
+
+    /**
+     * @return The net current balance change by credit card ID.
+     */
+    Map<Long, BigDecimal> creditCardDeltas() {
+        return creditCardDeltas;
+    }
+
+    /**
+     * @return The amount to allocate by income ID.
+     */
+    Map<Long, BigDecimal> incomeAllocations() {
+        return incomeAllocations;
+    }
+
+    Income income(Long id) {
+        return incomes.get(id);
+    }
+
+    private static void requireActive(Account account) {
+        if (!account.getState()) {
+            throw new BadRequestException("Account is deactivated");
+        }
+    }
+
+    private static BigDecimal pending(Map<Long, BigDecimal> batchChanges, Map<Long, BigDecimal> itemChanges, Long id) {
+        return batchChanges.getOrDefault(id, BigDecimal.ZERO).add(itemChanges.getOrDefault(id, BigDecimal.ZERO));
+    }
+}
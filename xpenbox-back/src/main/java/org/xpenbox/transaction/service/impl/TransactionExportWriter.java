@@ -0,0 +1,123 @@
+package org.xpenbox.transaction.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.ScrollableResults;
+import org.xpenbox.transaction.dto.TransactionExportFormat;
+import org.xpenbox.transaction.dto.TransactionProjection;
+import org.xpenbox.transaction.mapper.TransactionMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes exported transactions to an output stream, one line per transaction, as they are read from a scrollable result.
+ * Only the current row and the writer buffer are held in memory, whatever the number of transactions.
+ * CSV rows carry the names of the relations; NDJSON rows are the TransactionResponseDTO returned by the API.
+ */
+final class TransactionExportWriter {
+
+    private static final String CSV_HEADER = "resourceCode,transactionDate,transactionType,amount,description,category,income,account,creditCard,destinationAccount,latitude,longitude";
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final TransactionExportFormat format;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+
+    TransactionExportWriter(TransactionExportFormat format, TransactionMapper transactionMapper, ObjectMapper objectMapper) {
+        this.format = format;
+        this.transactionMapper = transactionMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every row of the scrollable result. The output is flushed every 1000 rows, so the client receives the export
+     * progressively, and once at the end. The output stream is not closed.
+     * @param rows The transactions to write, positioned before the first row.
+     * @param output The output stream.
+     * @return The number of transactions written.
+     * @throws IOException If writing to the output fails.
+     */
+    long write(ScrollableResults<TransactionProjection> rows, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == TransactionExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        while (rows.next()) {
+            TransactionProjection row = rows.get();
+            if (format == TransactionExportFormat.CSV) {
+                writeCsvRow(writer, row);
+            } else {
+                writer.write(objectMapper.writeValueAsString(transactionMapper.toDTO(row)));
+            }
+            writer.write('\n');
+
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, TransactionProjection row) throws IOException {
+        writeCsvText(writer, row.resourceCode());
+        writer.write(',');
+        writer.write(row.transactionDate().toString());
+        writer.write(',');
+        writer.write(row.transactionType().name());
+        writer.write(',');
+        writeCsvNumber(writer, row.amount());
+        writer.write(',');
+        writeCsvText(writer, row.description());
+        writer.write(',');
+        writeCsvText(writer, row.categoryName());
+        writer.write(',');
+        writeCsvText(writer, row.incomeConcept());
+        writer.write(',');
+        writeCsvText(writer, row.accountName());
+        writer.write(',');
+        writeCsvText(writer, row.creditCardName());
+        writer.write(',');
+        writeCsvText(writer, row.destinationAccountName());
+        writer.write(',');
+        writeCsvNumber(writer, row.latitude());
+        writer.write(',');
+        writeCsvNumber(writer, row.longitude());
+    }
+
+    private static void writeCsvNumber(Writer writer, BigDecimal value) throws IOException {
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+    }
+
+    /**
+     * Writes a text field, quoted when it contains a separator, a quote or a line break. Values starting with a
+     * character spreadsheets read as a formula are prefixed with an apostrophe, so user input is never evaluated.
+     */
+    private static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        String text = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        boolean quoted = text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quoted) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
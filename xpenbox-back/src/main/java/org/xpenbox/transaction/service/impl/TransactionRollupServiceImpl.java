@@ -0,0 +1,187 @@
+package org.xpenbox.transaction.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jboss.logging.Logger;
+import org.xpenbox.category.entity.Category;
+import org.xpenbox.common.DateFunctions;
+import org.xpenbox.transaction.dto.TransactionRollupBucket;
+import org.xpenbox.transaction.entity.Transaction;
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup;
+import org.xpenbox.transaction.entity.TransactionMonthlyRollup.FundingSource;
+import org.xpenbox.transaction.repository.TransactionMonthlyRollupRepository;
+import org.xpenbox.transaction.service.ITransactionRollupService;
+import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IUserDataVersionService;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Implementation of the ITransactionRollupService interface. Every change is applied as a relative increment
+ * on the rollup row of the transaction, inside the transaction that changes the transaction itself.
+ * Reconciliation walks through the users in chunks of IDs and verifies each user in its own transaction.
+ */
+@ApplicationScoped
+public class TransactionRollupServiceImpl implements ITransactionRollupService {
+    private static final Logger LOG = Logger.getLogger(TransactionRollupServiceImpl.class);
+
+    private static final int RECONCILE_USER_CHUNK_SIZE = 100;
+
+    private final TransactionMonthlyRollupRepository transactionMonthlyRollupRepository;
+    private final UserRepository userRepository;
+    private final IUserDataVersionService userDataVersionService;
+
+    public TransactionRollupServiceImpl(
+        TransactionMonthlyRollupRepository transactionMonthlyRollupRepository,
+        UserRepository userRepository,
+        IUserDataVersionService userDataVersionService
+    ) {
+        this.transactionMonthlyRollupRepository = transactionMonthlyRollupRepository;
+        this.userRepository = userRepository;
+        this.userDataVersionService = userDataVersionService;
+    }
+
+    @Override
+    public void addTransaction(Transaction transaction) {
+        LOG.debugf("Adding transaction ID: %d to rollups", transaction.id);
+        applyToRollup(transaction, transaction.getTransactionDate(), getCategoryId(transaction.getCategory()), transaction.getAmount(), 1);
+    }
+
+    @Override
+    public void removeTransaction(Transaction transaction) {
+        LOG.debugf("Removing transaction ID: %d from rollups", transaction.id);
+        applyToRollup(transaction, transaction.getTransactionDate(), getCategoryId(transaction.getCategory()), transaction.getAmount().negate(), -1);
+    }
+
+    @Override
+    public void moveTransaction(Transaction transaction, LocalDateTime previousTransactionDate, Category previousCategory) {
+        LocalDate previousMonth = toPeriodMonth(previousTransactionDate);
+        Long previousCategoryId = getCategoryId(previousCategory);
+        Long categoryId = getCategoryId(transaction.getCategory());
+
+        if (previousMonth.equals(toPeriodMonth(transaction.getTransactionDate())) && Objects.equals(previousCategoryId, categoryId)) {
+            LOG.debugf("Rollup key of transaction ID: %d did not change", transaction.id);
+            return;
+        }
+
+        LOG.debugf("Moving transaction ID: %d to a new rollup", transaction.id);
+        applyToRollup(transaction, previousTransactionDate, previousCategoryId, transaction.getAmount().negate(), -1);
+        applyToRollup(transaction, transaction.getTransactionDate(), categoryId, transaction.getAmount(), 1);
+    }
+
+    @Override
+    public void uncategorize(Long userId, Long categoryId) {
+        LOG.debugf("Moving rollups of category ID: %d to uncategorized for User ID: %d", categoryId, userId);
+        transactionMonthlyRollupRepository.reassignCategory(userId, categoryId, TransactionMonthlyRollup.UNCATEGORIZED_CATEGORY_ID);
+    }
+
+    @Override
+    public List<TransactionMonthlyRollup> findByUserIdAndPeriodRange(Long userId, LocalDateTime from, LocalDateTime to) {
+        return transactionMonthlyRollupRepository.findByUserIdAndPeriodRange(userId, toPeriodMonth(from), toPeriodMonth(to));
+    }
+
+    @Override
+    public int reconcileAll() {
+        int corrected = 0;
+        Long lastUserId = 0L;
+        List<Long> userIds;
+
+        while (!(userIds = findUserIdsAfter(lastUserId)).isEmpty()) {
+            for (Long userId : userIds) {
+                corrected += QuarkusTransaction.requiringNew().call(() -> reconcileUser(userId));
+            }
+            lastUserId = userIds.get(userIds.size() - 1);
+        }
+
+        if (corrected > 0) {
+            LOG.warnf("Rollups reconciled, %d buckets had drifted and were corrected", corrected);
+        } else {
+            LOG.info("Rollups reconciled, no bucket had drifted");
+        }
+        return corrected;
+    }
+
+    private List<Long> findUserIdsAfter(Long lastUserId) {
+        return QuarkusTransaction.requiringNew().call(() -> userRepository.findIdsAfter(lastUserId, RECONCILE_USER_CHUNK_SIZE));
+    }
+
+    /**
+     * Corrects the rollup buckets of a user that differ from its transactions. Both are read in the same transaction,
+     * so they come from the same snapshot, where every committed change is reflected in both; the difference is
+     * applied as a relative increment, so transactions committed meanwhile keep their own increments. When a bucket is
+     * corrected the data version of the user is bumped, so summaries cached from the drifted buckets are not served.
+     * @param userId The ID of the user.
+     * @return The number of buckets corrected.
+     */
+    private int reconcileUser(Long userId) {
+        Map<TransactionRollupBucket.Key, TransactionRollupBucket> rollupBuckets = new HashMap<>();
+        transactionMonthlyRollupRepository.findBucketsByUserId(userId)
+            .forEach(bucket -> rollupBuckets.put(bucket.key(), bucket));
+
+        int corrected = 0;
+        for (TransactionRollupBucket expected : transactionMonthlyRollupRepository.computeBucketsByUserId(userId)) {
+            TransactionRollupBucket current = rollupBuckets.remove(expected.key());
+            BigDecimal currentAmount = current != null ? current.totalAmount() : BigDecimal.ZERO;
+            long currentCount = current != null ? current.transactionCount() : 0;
+            if (correctBucket(userId, expected.key(), expected.totalAmount().subtract(currentAmount), expected.transactionCount() - currentCount)) {
+                corrected++;
+            }
+        }
+
+        // Buckets left have no transactions anymore
+        for (TransactionRollupBucket current : rollupBuckets.values()) {
+            if (correctBucket(userId, current.key(), current.totalAmount().negate(), -current.transactionCount())) {
+                corrected++;
+            }
+        }
+
+        if (corrected > 0) {
+            LOG.debugf("Corrected %d rollup buckets for User ID: %d", corrected, userId);
+            userDataVersionService.bumpVersion(userId);
+        }
+        return corrected;
+    }
+
+    private boolean correctBucket(Long userId, TransactionRollupBucket.Key key, BigDecimal amount, long count) {
+        if (amount.signum() == 0 && count == 0) {
+            return false;
+        }
+
+        transactionMonthlyRollupRepository.addToRollup(userId, key.periodMonth(), key.transactionType(), key.categoryId(),
+            key.fundingSource(), amount, count);
+        return true;
+    }
+
+    private void applyToRollup(Transaction transaction, LocalDateTime transactionDate, Long categoryId, BigDecimal amount, long count) {
+        transactionMonthlyRollupRepository.addToRollup(
+            transaction.getUser().id,
+            toPeriodMonth(transactionDate),
+            transaction.getTransactionType(),
+            categoryId,
+            getFundingSource(transaction),
+            amount,
+            count
+        );
+    }
+
+    private LocalDate toPeriodMonth(LocalDateTime dateTime) {
+        return DateFunctions.toFirstDayOfMonth(dateTime).toLocalDate();
+    }
+
+    private Long getCategoryId(Category category) {
+        return category != null ? category.id : TransactionMonthlyRollup.UNCATEGORIZED_CATEGORY_ID;
+    }
+
+    private FundingSource getFundingSource(Transaction transaction) {
+        return transaction.getAccount() == null && transaction.getCreditCard() != null
+            ? FundingSource.CREDIT_CARD
+            : FundingSource.ACCOUNT;
+    }
+}
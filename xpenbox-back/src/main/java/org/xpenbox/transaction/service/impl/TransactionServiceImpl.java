@@ -1,10 +1,21 @@
 package org.xpenbox.transaction.service.impl;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollableResults;
 import org.jboss.logging.Logger;
 import org.xpenbox.account.entity.Account;
 import org.xpenbox.account.repository.AccountRepository;
@@ -12,6 +23,7 @@ import org.xpenbox.account.service.IAccountService;
 import org.xpenbox.category.entity.Category;
 import org.xpenbox.category.repository.CategoryRepository;
 import org.xpenbox.common.dto.APIPageableDTO;
+import org.xpenbox.common.interceptor.RetryOnConflict;
 import org.xpenbox.common.service.impl.GenericServiceImpl;
 import org.xpenbox.creditcard.entity.CreditCard;
 import org.xpenbox.creditcard.repository.CreditCardRepository;
@@ -20,23 +32,44 @@ import org.xpenbox.enforcement.dto.SnapshotPlanDTO;
 import org.xpenbox.enforcement.service.IPlanSnapshotService;
 import org.xpenbox.enforcement.service.IPlanValidatorService;
 import org.xpenbox.exception.BadRequestException;
+import org.xpenbox.exception.BussinessException;
 import org.xpenbox.exception.ResourceNotFoundException;
+import org.xpenbox.exception.TooManyRequestsException;
 import org.xpenbox.income.entity.Income;
 import org.xpenbox.income.repository.IncomeRepository;
 import org.xpenbox.income.service.IIncomeService;
+import org.xpenbox.transaction.dto.TransactionBatchCreateDTO;
+import org.xpenbox.transaction.dto.TransactionBatchItemResultDTO;
 import org.xpenbox.transaction.dto.TransactionCreateDTO;
+import org.xpenbox.transaction.dto.TransactionCursor;
+import org.xpenbox.transaction.dto.TransactionExportFormat;
 import org.xpenbox.transaction.dto.TransactionFilterDTO;
+import org.xpenbox.transaction.dto.TransactionProjection;
 import org.xpenbox.transaction.dto.TransactionResponseDTO;
 import org.xpenbox.transaction.dto.TransactionUpdateDTO;
 import org.xpenbox.transaction.entity.Transaction;
 import org.xpenbox.transaction.entity.Transaction.TransactionType;
 import org.xpenbox.transaction.mapper.TransactionMapper;
 import org.xpenbox.transaction.repository.TransactionRepository;
+import org.xpenbox.transaction.service.ITransactionRollupService;
 import org.xpenbox.transaction.service.ITransactionService;
+import org.xpenbox.transaction.service.IUsageCounterService;
+import org.xpenbox.transaction.service.IUsageCounterService.UsageTarget;
 import org.xpenbox.user.entity.User;
-import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
+import org.xpenbox.user.service.IUserDataVersionService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.core.StreamingOutput;
 
 /**
  * Service implementation for managing Transactions.
@@ -45,7 +78,19 @@ import jakarta.enterprise.context.ApplicationScoped;
 public class TransactionServiceImpl extends GenericServiceImpl<Transaction, TransactionCreateDTO, TransactionUpdateDTO, TransactionResponseDTO> implements ITransactionService {
     private static final Logger LOG = Logger.getLogger(TransactionServiceImpl.class);
 
-    private final UserRepository userRepository;
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @ConfigProperty(name = "transaction.export.timeout", defaultValue = "30M")
+    private Duration exportTimeout;
+
+    @ConfigProperty(name = "transaction.export.max.concurrent", defaultValue = "2")
+    private Integer maxConcurrentExports;
+
+    private final AtomicInteger activeExports = new AtomicInteger();
+
+    private record FilterCountCacheKey(Long userId, TransactionFilterDTO filter, long dataVersion) { }
+
+    private final IPrincipalService principalService;
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
     private final CategoryRepository categoryRepository;
@@ -57,8 +102,15 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
     private final IPlanValidatorService planValidatorService;
     private final IPlanSnapshotService planSnapshotService;
     private final IIncomeService incomeService;
-
-    public TransactionServiceImpl(UserRepository userRepository,
+    private final ITransactionRollupService transactionRollupService;
+    private final IUsageCounterService usageCounterService;
+    private final IUserDataVersionService userDataVersionService;
+    private final Cache filterCountCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionBalances immediateBalances = new ImmediateBalances();
+
+    public TransactionServiceImpl(IPrincipalService principalService,
                                   TransactionRepository transactionRepository,
                                   TransactionMapper transactionMapper,
                                   CategoryRepository categoryRepository,
@@ -69,9 +121,15 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
                                   ICreditCardService creditCardService,
                                   IPlanValidatorService planValidatorService,
                                   IPlanSnapshotService planSnapshotService,
-                                  IIncomeService incomeService
+                                  IIncomeService incomeService,
+                                  ITransactionRollupService transactionRollupService,
+                                  IUsageCounterService usageCounterService,
+                                  IUserDataVersionService userDataVersionService,
+                                  @CacheName("transaction-filter-count") Cache filterCountCache,
+                                  ObjectMapper objectMapper,
+                                  Validator validator
     ) {
-        this.userRepository = userRepository;
+        this.principalService = principalService;
         this.transactionRepository = transactionRepository;
         this.transactionMapper = transactionMapper;
         this.categoryRepository = categoryRepository;
@@ -83,6 +141,12 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
         this.planValidatorService = planValidatorService;
         this.planSnapshotService = planSnapshotService;
         this.incomeService = incomeService;
+        this.transactionRollupService = transactionRollupService;
+        this.usageCounterService = usageCounterService;
+        this.userDataVersionService = userDataVersionService;
+        this.filterCountCache = filterCountCache;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     //Completed abstract methods from GenericServiceImpl
@@ -92,8 +156,8 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
     }
 
     @Override
-    protected UserRepository getUserRepository() {
-        return userRepository;
+    protected IPrincipalService getPrincipalService() {
+        return principalService;
     }
 
     @Override
@@ -105,6 +169,11 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
     protected TransactionMapper getGenericMapper() {
         return transactionMapper;
     }
+
+    @Override
+    protected void onUserDataChanged(User user) {
+        userDataVersionService.bumpVersion(user.id);
+    }
     
 
     // Overriding Create and Update methods to add custom logging 
@@ -116,6 +185,8 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
      * @return The created Transaction as a DTO.
      */
     @Override
+    @RetryOnConflict
+    @Transactional
     public TransactionResponseDTO create(TransactionCreateDTO entityCreateDTO, String userEmail) {
         LOG.infof("Validating plan limits for user email: %s before creating transaction", userEmail);
         
@@ -126,14 +197,82 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
 
         User user = validateAndGetUser(userEmail);
 
-        Transaction transaction = validateCreateAndReturnEntityByType(entityCreateDTO, user);
+        Transaction transaction = validateCreateAndReturnEntityByType(entityCreateDTO, user, immediateBalances);
        
         transactionRepository.persist(transaction);
+        transactionRollupService.addTransaction(transaction);
+        onUserDataChanged(user);
 
         LOG.infof("Successfully created %s with ID: %d for user email: %s", getEntityName(), transaction.id, userEmail);
         return transactionMapper.toDTO(transaction);
     }
 
+    /**
+     * Creates a batch of Transactions in order, validating the plan quota once for the whole batch. Each item is validated
+     * against the balances left by the previous items; balance changes are coalesced per account, credit card and income
+     * and written with one statement each, and the transactions are inserted in JDBC batches. Items that fail validation
+     * are reported in the results and do not prevent the creation of the others.
+     * @param batchCreateDTO The DTO containing the transactions to create.
+     * @param userEmail The email of the user creating the transactions.
+     * @return The result of every item, in batch order.
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public List<TransactionBatchItemResultDTO> createBatch(TransactionBatchCreateDTO batchCreateDTO, String userEmail) {
+        List<TransactionCreateDTO> items = batchCreateDTO.transactions();
+        LOG.infof("Validating plan limits for user email: %s before creating a batch of %d transactions", userEmail, items.size());
+
+        SnapshotPlanDTO activePlanSnapshot = planSnapshotService.getPlanSnapshotByEmail(userEmail);
+        long remainingTransactions = planValidatorService.getRemainingTransactions(activePlanSnapshot);
+
+        User user = validateAndGetUser(userEmail);
+
+        TransactionBatchBalances balances = new TransactionBatchBalances();
+        Map<Integer, Transaction> createdTransactions = new LinkedHashMap<>();
+        Map<Integer, String> errors = new HashMap<>();
+
+        for (int index = 0; index < items.size(); index++) {
+            if (createdTransactions.size() >= remainingTransactions) {
+                errors.put(index, "The transaction limit of your current plan has been reached");
+                continue;
+            }
+
+            String violations = validateBatchItem(items.get(index));
+            if (violations != null) {
+                errors.put(index, violations);
+                continue;
+            }
+
+            try {
+                createdTransactions.put(index, validateCreateAndReturnEntityByType(items.get(index), user, balances));
+                balances.commitItem();
+            } catch (BussinessException e) {
+                LOG.debugf("Batch item %d rejected for user email: %s: %s", index, userEmail, e.getMessage());
+                balances.discardItem();
+                errors.put(index, e.getMessage());
+            }
+        }
+
+        if (!createdTransactions.isEmpty()) {
+            transactionRepository.persist(createdTransactions.values());
+            applyBatchBalances(balances);
+            createdTransactions.values().forEach(transactionRollupService::addTransaction);
+            onUserDataChanged(user);
+        }
+
+        LOG.infof("Created %d of %d batch transactions for user email: %s", createdTransactions.size(), items.size(), userEmail);
+
+        List<TransactionBatchItemResultDTO> results = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            Transaction transaction = createdTransactions.get(index);
+            results.add(transaction != null
+                ? TransactionBatchItemResultDTO.created(index, transactionMapper.toDTO(transaction))
+                : TransactionBatchItemResultDTO.failed(index, errors.get(index)));
+        }
+        return results;
+    }
+
     /**
      * Updates a Transaction based on the provided resourceCode, DTO and user email
      * @param resourceCode The resourceCode of the transaction to update.
@@ -142,12 +281,16 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
      * @return The updated Transaction as a DTO
      */
     @Override
+    @RetryOnConflict
+    @Transactional
     public TransactionResponseDTO update(String resourceCode, TransactionUpdateDTO entityUpdateDTO, String userEmail) {
         LOG.infof("Starting update of %s with resourceCode %s for user email: %s", entityUpdateDTO, resourceCode, userEmail);
 
         User user = validateAndGetUser(userEmail);
 
         Transaction transaction = validateAndGetTransactionEntity(resourceCode, user);
+        LocalDateTime previousTransactionDate = transaction.getTransactionDate();
+        Category previousCategory = transaction.getCategory();
 
         boolean updated = transactionMapper.updateEntity(entityUpdateDTO, transaction);
 
@@ -160,28 +303,21 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
             
             if (!category.getResourceCode().equals(transaction.getResourceCode()) && transaction.getCategory() != null) {
                 LOG.infof("Updating category for %s with resource code: %s to category resource code: %s", getEntityName(), resourceCode, entityUpdateDTO.categoryResourceCode());
-                category.setLastUsedDate(transaction.getTransactionDate());
-                category.setUsageCount(category.getUsageCount() + 1);
-                categoryRepository.persist(category);
-
-                transaction.getCategory().setUsageCount(transaction.getCategory().getUsageCount() - 1);
-                categoryRepository.persist(transaction.getCategory());
+                usageCounterService.recordUsage(UsageTarget.CATEGORY, category.id, transaction.getTransactionDate());
+                usageCounterService.revertUsage(UsageTarget.CATEGORY, transaction.getCategory().id);
 
                 transaction.setCategory(category);
                 updated = true;
             } else if (transaction.getCategory() == null) {
                 LOG.infof("Assigning new category to %s with resource code: %s", getEntityName(), resourceCode);
-                category.setLastUsedDate(transaction.getTransactionDate());
-                category.setUsageCount(category.getUsageCount() + 1);
-                categoryRepository.persist(category);
+                usageCounterService.recordUsage(UsageTarget.CATEGORY, category.id, transaction.getTransactionDate());
 
                 transaction.setCategory(category);
                 updated = true;
             }
         } else if (entityUpdateDTO.categoryResourceCode() == null && transaction.getCategory() != null) {
             LOG.infof("Removing category from %s with resource code: %s", getEntityName(), resourceCode);
-            transaction.getCategory().setUsageCount(transaction.getCategory().getUsageCount() - 1);
-            categoryRepository.persist(transaction.getCategory());
+            usageCounterService.revertUsage(UsageTarget.CATEGORY, transaction.getCategory().id);
 
             transaction.setCategory(null);
             updated = true;
@@ -189,6 +325,8 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
 
         if (updated) {
             transactionRepository.persist(transaction);
+            transactionRollupService.moveTransaction(transaction, previousTransactionDate, previousCategory);
+            onUserDataChanged(user);
             LOG.infof("%s updated with resource code: %s", getEntityName(), resourceCode);
         } else {
             LOG.infof("No changes detected for %s with resource code: %s", getEntityName(), resourceCode);
@@ -203,6 +341,8 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
      * @param userEmail The email of the user requesting the rollback.
      */
     @Override
+    @RetryOnConflict
+    @Transactional
     public void rollback(String resourceCode, String userEmail) {
         LOG.infof("Rolling back transaction with resource code: %s for user email: %s", resourceCode, userEmail);
 
@@ -211,7 +351,9 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
     
         validateRollbackAndReturnEntityByType(transaction, user);
         
+        transactionRollupService.removeTransaction(transaction);
         transactionRepository.delete(transaction);
+        onUserDataChanged(user);
         LOG.infof("Successfully rolled back transaction with resource code: %s for user email: %s", resourceCode, userEmail);
     
         if (transaction.getTransactionType() == TransactionType.INCOME) {
@@ -241,23 +383,96 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
 
         User user = validateAndGetUser(userEmail);
 
-        List<Transaction> filteredTransactions = transactionRepository.findByFilter(newFilterDTO, user);
-        Integer totalElements = transactionRepository.countByFilter(newFilterDTO, user);
+        List<TransactionProjection> pageTransactions = transactionRepository.findProjectionsByFilter(newFilterDTO, user);
+        Integer pageSize = newFilterDTO.pageSize();
+        boolean hasNext = pageSize != null && pageTransactions.size() > pageSize;
+        List<TransactionProjection> filteredTransactions = hasNext ? pageTransactions.subList(0, pageSize) : pageTransactions;
+
+        Integer totalElements = newFilterDTO.shouldIncludeTotal() ? countFilteredTransactions(newFilterDTO, user) : null;
         
         LOG.infof("Found %d transactions for user email: %s with filter: %s", filteredTransactions.size(), userEmail, newFilterDTO);
 
         return APIPageableDTO.generatePageableDTO(
             newFilterDTO.pageNumber(),
-            newFilterDTO.pageSize(),
+            pageSize,
             totalElements,
-            transactionMapper.toDTOList(filteredTransactions),
+            transactionMapper.toDTOListFromProjections(filteredTransactions),
             !filterDTO.compareTo(newFilterDTO),
-            newFilterDTO
+            newFilterDTO,
+            hasNext && newFilterDTO.description() == null ? buildNextCursor(filteredTransactions) : null,
+            pageSize != null ? hasNext : null
         );
     }
 
+    /**
+     * Exports every transaction matching the filter. The user and the plan history limit are validated right away;
+     * the returned output then streams the transactions in its own read-only transaction when the response is written.
+     * Pagination fields of the filter are ignored.
+     * That transaction holds a pooled connection for the whole download, so it runs with its own timeout
+     * (transaction.export.timeout) instead of the default one, and at most transaction.export.max.concurrent exports
+     * run at once, leaving the rest of the pool to the other requests; further exports are rejected until one finishes.
+     * A download slower than the timeout is rolled back and its response ends truncated.
+     * @param filterDTO The DTO containing filter criteria.
+     * @param format The export format.
+     * @param userEmail The email of the user requesting the export.
+     * @return The streaming output writing the export.
+     */
+    @Override
+    public StreamingOutput exportTransactions(TransactionFilterDTO filterDTO, TransactionExportFormat format, String userEmail) {
+        LOG.infof("Validating plan limits for user email: %s before exporting transactions", userEmail);
+
+        SnapshotPlanDTO activePlanSnapshot = planSnapshotService.getPlanSnapshotByEmail(userEmail);
+        TransactionFilterDTO exportFilter = planValidatorService.validateTransactionFilterDTO(activePlanSnapshot, filterDTO).withoutPagination();
+        User user = validateAndGetUser(userEmail);
+        TransactionExportWriter exportWriter = new TransactionExportWriter(format, transactionMapper, objectMapper);
+
+        if (activeExports.incrementAndGet() > maxConcurrentExports) {
+            activeExports.decrementAndGet();
+            LOG.warnf("Rejecting export for user email: %s, %d exports already running", userEmail, maxConcurrentExports);
+            throw new TooManyRequestsException("Too many exports in progress, please try again in a few minutes");
+        }
+
+        return output -> {
+            try {
+                long exported = QuarkusTransaction.requiringNew().timeout((int) exportTimeout.toSeconds()).call(() -> {
+                    try (ScrollableResults<TransactionProjection> rows = transactionRepository.scrollProjectionsByFilter(exportFilter, user, EXPORT_FETCH_SIZE)) {
+                        return exportWriter.write(rows, output);
+                    }
+                });
+                LOG.infof("Exported %d transactions as %s for user email: %s", exported, format, userEmail);
+            } finally {
+                activeExports.decrementAndGet();
+            }
+        };
+    }
+
     // Auxiliary private methods
 
+    /**
+     * Counts the transactions matching a filter. Counts are cached briefly by user, normalized filter and user data version,
+     * so paging through the same filter counts only once and any write of the user makes the cached count unreachable.
+     * @param filterDTO the filter criteria
+     * @param user the user
+     * @return the number of transactions matching the filter
+     */
+    private Integer countFilteredTransactions(TransactionFilterDTO filterDTO, User user) {
+        TransactionFilterDTO normalizedFilter = filterDTO.normalizedForCount();
+        FilterCountCacheKey cacheKey = new FilterCountCacheKey(user.id, normalizedFilter, userDataVersionService.getVersion(user.id));
+        return filterCountCache.get(cacheKey, key -> transactionRepository.countByFilter(normalizedFilter, user))
+            .await().indefinitely();
+    }
+
+    /**
+     * Builds the cursor to the page following the given one. It is not returned for description searches, which are
+     * ordered by relevance and paginated by page number.
+     * @param pageTransactions the transactions of the current page, in filter order
+     * @return the encoded cursor of the last transaction of the page
+     */
+    private String buildNextCursor(List<TransactionProjection> pageTransactions) {
+        TransactionProjection lastTransaction = pageTransactions.get(pageTransactions.size() - 1);
+        return new TransactionCursor(lastTransaction.transactionDate(), lastTransaction.id()).encode();
+    }
+
     /**
      * Validates the rollback of a transaction based on its type.
      * @param transaction the transaction to be rolled back
@@ -280,9 +495,10 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
      * Validates the TransactionCreateDTO based on the transaction type and returns the corresponding Transaction entity.
      * @param entityCreateDTO The DTO containing transaction creation data.
      * @param user The user associated with the transaction.
+     * @param balances The balance operations used to apply the transaction.
      * @return The validated Transaction entity.
      */
-    private Transaction validateCreateAndReturnEntityByType(TransactionCreateDTO entityCreateDTO, User user) {
+    private Transaction validateCreateAndReturnEntityByType(TransactionCreateDTO entityCreateDTO, User user, TransactionBalances balances) {
         LOG.debugf("Validating creation DTO by type for %s", getEntityName());
 
         Transaction transaction = transactionMapper.toEntity(entityCreateDTO, user);
@@ -291,26 +507,15 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
 
         LOG.debugf("Processing transaction type: %s", entityCreateDTO.transactionType());
         return switch (entityCreateDTO.transactionType()) {
-            case EXPENSE -> handleExpense(transaction, entityCreateDTO, user);
-            case INCOME -> handleIncome(transaction, entityCreateDTO, user);
-            case TRANSFER -> handleTransfer(transaction, entityCreateDTO, user);
-            case CREDIT_PAYMENT -> handleCreditPayment(transaction, entityCreateDTO, user);
+            case EXPENSE -> handleExpense(transaction, entityCreateDTO, user, balances);
+            case INCOME -> handleIncome(transaction, entityCreateDTO, user, balances);
+            case TRANSFER -> handleTransfer(transaction, entityCreateDTO, user, balances);
+            case CREDIT_PAYMENT -> handleCreditPayment(transaction, entityCreateDTO, user, balances);
             default -> throw new BadRequestException(getEntityName(), "transactionType", "is invalid");
                 
         };
     }
 
-    /**
-     * Gets all INCOME transactions for a given income and user.
-     * @param income the income entity
-     * @param user the user entity
-     * @return a list of transactions associated with the income and user
-     */
-    private List<Transaction> getAllIncomeTransactionsByIncomeAndUser(Income income, User user) {
-        LOG.debugf("Fetching all INCOME transactions for Income ID: %d and User ID: %d", income.id, user.id);
-        return transactionRepository.findByIncomeIdAndUserIdAndType(income.id, user.id, TransactionType.INCOME);
-    }
-
     /**
      * Rolls back INCOME transactions by deducting the amount from the associated account.
      * @param transaction The Transaction entity to be rolled back.
@@ -320,17 +525,15 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
         LOG.debugf("Rolling back EXPENSE transaction ID: %d", transaction.id);
         
         if (transaction.getAccount() != null) {
-            accountService.processAddAmount(transaction.getAccount().getResourceCode(), transaction.getAccount().getUser().id, transaction.getAmount());
+            accountService.processAddAmount(transaction.getAccount().id, transaction.getAmount());
 
-            transaction.getAccount().setUsageCount(transaction.getAccount().getUsageCount() - 1);
-            accountRepository.persist(transaction.getAccount());
+            usageCounterService.revertUsage(UsageTarget.ACCOUNT, transaction.getAccount().id);
 
             LOG.debugf("Reverted amount to Account ID: %d", transaction.getAccount().id);
         } else if (transaction.getCreditCard() != null) {
-            creditCardService.processAddPayment(transaction.getCreditCard().getResourceCode(), transaction.getCreditCard().getUser().id, transaction.getAmount());
+            creditCardService.processAddPayment(transaction.getCreditCard().id, transaction.getAmount());
 
-            transaction.getCreditCard().setUsageCount(transaction.getCreditCard().getUsageCount() - 1);
-            creditCardRepository.persist(transaction.getCreditCard());
+            usageCounterService.revertUsage(UsageTarget.CREDIT_CARD, transaction.getCreditCard().id);
 
             LOG.debugf("Reverted amount from CreditCard ID: %d", transaction.getCreditCard().id);
         } else {
@@ -340,15 +543,19 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
     }
 
     /**
-     * Rolls back INCOME transactions by deducting the amount from the associated account.
+     * Rolls back INCOME transactions by deducting the amount from the associated account and releasing it to the income.
      * @param transaction The Transaction entity to be rolled back.
      * @param user The user associated with the transaction.
      */
     private void rollbackIncome(Transaction transaction, User user) {
         LOG.debugf("Rolling back INCOME transaction ID: %d", transaction.id);
         
-        accountService.processSubtractAmount(transaction.getAccount().getResourceCode(), transaction.getAccount().getUser().id, transaction.getAmount());
+        accountService.processSubtractAmount(transaction.getAccount().id, transaction.getAmount());
         LOG.debugf("Deducted amount from Account with resource code: %s", transaction.getAccount().getResourceCode());
+
+        if (!incomeRepository.releaseAmount(transaction.getIncome(), transaction.getAmount())) {
+            LOG.warnf("Allocated amount of Income ID: %d is lower than the rolled back amount, it will be corrected by the next rebuild", transaction.getIncome().id);
+        }
     }
 
     /**
@@ -359,8 +566,8 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
     private void rollbackTransfer(Transaction transaction, User user) {
         LOG.debugf("Rolling back TRANSFER transaction ID: %d", transaction.id);
 
-        accountService.processSubtractAmount(transaction.getDestinationAccount().getResourceCode(), transaction.getDestinationAccount().getUser().id, transaction.getAmount());
-        accountService.processAddAmount(transaction.getAccount().getResourceCode(), transaction.getAccount().getUser().id, transaction.getAmount());
+        accountService.processSubtractAmount(transaction.getDestinationAccount().id, transaction.getAmount());
+        accountService.processAddAmount(transaction.getAccount().id, transaction.getAmount());
         
         LOG.debugf("Reversed transfer between Account with resource code: %s and Account with resource code: %s", transaction.getAccount().getResourceCode(), transaction.getDestinationAccount().getResourceCode());
     }
@@ -374,16 +581,13 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
         LOG.debugf("Rolling back CREDIT_PAYMENT transaction ID: %d", transaction.id);
 
         creditCardService.processAddAmount(transaction.getCreditCard().id, transaction.getAmount());
-        accountService.processAddAmount(transaction.getAccount().getResourceCode(), transaction.getAccount().getUser().id, transaction.getAmount());
+        accountService.processAddAmount(transaction.getAccount().id, transaction.getAmount());
 
-        Account account = transaction.getAccount();
-        account.setUsageCount(account.getUsageCount() - 1);
-        accountRepository.persist(account);
+        usageCounterService.revertUsage(UsageTarget.ACCOUNT, transaction.getAccount().id);
 
         Category category = transaction.getCategory();
         if (category != null) {
-            category.setUsageCount(category.getUsageCount() - 1);
-            categoryRepository.persist(category);
+            usageCounterService.revertUsage(UsageTarget.CATEGORY, category.id);
         }
         
         LOG.debugf("Reversed credit payment between Account ID: %d and CreditCard ID: %d", transaction.getAccount().id, transaction.getCreditCard().id);
@@ -394,9 +598,10 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
      * @param transaction The Transaction entity to be processed.
      * @param entityCreateDTO The DTO containing transaction creation data.
      * @param user The user associated with the transaction.
+     * @param balances The balance operations used to apply the transaction.
      * @return The processed Transaction entity.
      */
-    private Transaction handleExpense(Transaction transaction, TransactionCreateDTO entityCreateDTO, User user) {
+    private Transaction handleExpense(Transaction transaction, TransactionCreateDTO entityCreateDTO, User user, TransactionBalances balances) {
         LOG.debugf("Handling EXPENSE transaction");
         
         if (!isValid(entityCreateDTO.accountResourceCode()) && !isValid(entityCreateDTO.creditCardResourceCode())) {
@@ -406,30 +611,24 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
 
         if (isValid(entityCreateDTO.accountResourceCode())) {
             Account account = validateAndGetAccountEntity(entityCreateDTO.accountResourceCode(), user);
-            accountService.processSubtractAmount(account.getResourceCode(), account.getUser().id, entityCreateDTO.amount());
+            balances.subtractFromAccount(account, entityCreateDTO.amount());
 
-            account.setLastUsedDate(transaction.getTransactionDate());
-            account.setUsageCount(account.getUsageCount() + 1);
-            accountRepository.persist(account);
+            usageCounterService.recordUsage(UsageTarget.ACCOUNT, account.id, transaction.getTransactionDate());
 
             transaction.setAccount(account);
             LOG.debugf("Expense processed from Account ID: %d", account.id);
         } else if (isValid(entityCreateDTO.creditCardResourceCode())) {
             CreditCard creditCard = validateAndGetCreditCardEntity(entityCreateDTO.creditCardResourceCode(), user);
-            creditCardService.processAddAmount(creditCard.id, entityCreateDTO.amount());
+            balances.addToCreditCard(creditCard, entityCreateDTO.amount());
 
-            creditCard.setLastUsedDate(transaction.getTransactionDate());
-            creditCard.setUsageCount(creditCard.getUsageCount() + 1);
-            creditCardRepository.persist(creditCard);
+            usageCounterService.recordUsage(UsageTarget.CREDIT_CARD, creditCard.id, transaction.getTransactionDate());
 
             transaction.setCreditCard(creditCard);
             LOG.debugf("Expense processed to CreditCard ID: %d", creditCard.id);
         }
 
         if (transaction.getCategory() != null) {
-            transaction.getCategory().setLastUsedDate(transaction.getTransactionDate());
-            transaction.getCategory().setUsageCount(transaction.getCategory().getUsageCount() + 1);
-            categoryRepository.persist(transaction.getCategory());
+            usageCounterService.recordUsage(UsageTarget.CATEGORY, transaction.getCategory().id, transaction.getTransactionDate());
         }
 
         return transaction;
@@ -440,9 +639,10 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
      * @param transaction The Transaction entity to be processed.
      * @param entityCreateDTO The DTO containing transaction creation data.
      * @param user The user associated with the transaction.
+     * @param balances The balance operations used to apply the transaction.
      * @return The processed Transaction entity.
      */
-    private Transaction handleIncome(Transaction transaction, TransactionCreateDTO entityCreateDTO, User user) {
+    private Transaction handleIncome(Transaction transaction, TransactionCreateDTO entityCreateDTO, User user, TransactionBalances balances) {
         LOG.debugf("Handling INCOME transaction");
 
         if (!isValid(entityCreateDTO.incomeResourceCode()) || !isValid(entityCreateDTO.accountResourceCode())) {
@@ -453,8 +653,8 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
         Income income = validateAndGetIncomeEntity(entityCreateDTO.incomeResourceCode(), user);
         Account account = validateAndGetAccountEntity(entityCreateDTO.accountResourceCode(), user);
         
-        validateTotalIncomeDoesNotExceedTransactions(income, user, transaction.getAmount());
-        accountService.processAddAmount(account.getResourceCode(), account.getUser().id, entityCreateDTO.amount());
+        balances.allocateFromIncome(income, transaction.getAmount());
+        balances.addToAccount(account, entityCreateDTO.amount());
 
         transaction.setIncome(income);
         transaction.setAccount(account);
@@ -469,9 +669,10 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
      * @param transaction The Transaction entity to be processed.
      * @param entityCreateDTO The DTO containing transaction creation data.
      * @param user The user associated with the transaction.
+     * @param balances The balance operations used to apply the transaction.
      * @return The processed Transaction entity.
      */
-    private Transaction handleTransfer(Transaction transaction, TransactionCreateDTO entityCreateDTO, User user) {
+    private Transaction handleTransfer(Transaction transaction, TransactionCreateDTO entityCreateDTO, User user, TransactionBalances balances) {
         LOG.debugf("Handling TRANSFER transaction");
 
         if (!isValid(entityCreateDTO.accountResourceCode()) || !isValid(entityCreateDTO.destinationAccountResourceCode())) {
@@ -482,8 +683,8 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
         Account sourceAccount = validateAndGetAccountEntity(entityCreateDTO.accountResourceCode(), user);
         Account destinationAccount = validateAndGetAccountEntity(entityCreateDTO.destinationAccountResourceCode(), user);
         
-        accountService.processSubtractAmount(sourceAccount.getResourceCode(), sourceAccount.getUser().id, entityCreateDTO.amount());
-        accountService.processAddAmount(destinationAccount.getResourceCode(), destinationAccount.getUser().id, entityCreateDTO.amount());
+        balances.subtractFromAccount(sourceAccount, entityCreateDTO.amount());
+        balances.addToAccount(destinationAccount, entityCreateDTO.amount());
 
         transaction.setAccount(sourceAccount);
         transaction.setDestinationAccount(destinationAccount);
@@ -498,9 +699,10 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
      * @param transaction The Transaction entity to be processed.
      * @param entityCreateDTO The DTO containing transaction creation data.
      * @param user The user associated with the transaction.
+     * @param balances The balance operations used to apply the transaction.
      * @return The processed Transaction entity.
      */
-    private Transaction handleCreditPayment(Transaction transaction, TransactionCreateDTO entityCreateDTO, User user) {
+    private Transaction handleCreditPayment(Transaction transaction, TransactionCreateDTO entityCreateDTO, User user, TransactionBalances balances) {
         LOG.debugf("Handling CREDIT_PAYMENT transaction");
 
         if (!isValid(entityCreateDTO.accountResourceCode()) || !isValid(entityCreateDTO.creditCardResourceCode())) {
@@ -511,19 +713,14 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
         Account account = validateAndGetAccountEntity(entityCreateDTO.accountResourceCode(), user);
         CreditCard creditCard = validateAndGetCreditCardEntity(entityCreateDTO.creditCardResourceCode(), user);
         
-        accountService.processSubtractAmount(account.getResourceCode(), account.getUser().id, entityCreateDTO.amount());
-        creditCardService.processAddPayment(creditCard.getResourceCode(), creditCard.getUser().id, entityCreateDTO.amount());
-
-        account.setUsageCount(account.getUsageCount() + 1);
-        account.setLastUsedDate(transaction.getTransactionDate());
+        balances.subtractFromAccount(account, entityCreateDTO.amount());
+        balances.addPaymentToCreditCard(creditCard, entityCreateDTO.amount());
 
-        accountRepository.persist(account);
+        usageCounterService.recordUsage(UsageTarget.ACCOUNT, account.id, transaction.getTransactionDate());
 
         Category category = transaction.getCategory();
         if (category != null) {
-            category.setLastUsedDate(transaction.getTransactionDate());
-            category.setUsageCount(category.getUsageCount() + 1);
-            categoryRepository.persist(category);
+            usageCounterService.recordUsage(UsageTarget.CATEGORY, category.id, transaction.getTransactionDate());
         }
         
         transaction.setAccount(account);
@@ -564,19 +761,92 @@ public class TransactionServiceImpl extends GenericServiceImpl<Transaction, Tran
                 });
     }
 
-    private void validateTotalIncomeDoesNotExceedTransactions(Income income, User user, BigDecimal newAmount) {
-        List<Transaction> incomeTransactions = getAllIncomeTransactionsByIncomeAndUser(income, user);
-        BigDecimal totalIncomeFromTransactions = incomeTransactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Validates the constraints of a batch item, which are not validated with the request body so an invalid item
+     * does not reject the whole batch.
+     * @param item The batch item.
+     * @return The constraint violation messages, or null if the item is valid.
+     */
+    private String validateBatchItem(TransactionCreateDTO item) {
+        if (item == null) {
+            return "Transaction cannot be null";
+        }
 
-        if (totalIncomeFromTransactions.add(newAmount).compareTo(income.getTotalAmount()) > 0) {
-            LOG.debugf("Total income from transactions exceeds Income ID: %d total amount", income.id);
-            throw new BadRequestException(getEntityName(), "amount", "exceeds the total income limit");
+        Set<ConstraintViolation<TransactionCreateDTO>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
         }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Writes the coalesced balance changes of a batch, one conditional update per account, credit card and income.
+     * The changes were validated against the balances read by this transaction, so an update only fails if a concurrent
+     * request changed the same balance, in which case the whole batch is rolled back and retried by RetryOnConflict,
+     * which only answers with a conflict once its attempts are exhausted.
+     * @param balances The balance changes of the batch.
+     */
+    private void applyBatchBalances(TransactionBatchBalances balances) {
+        balances.accountDeltas().forEach((accountId, delta) -> {
+            if (delta.signum() != 0 && accountRepository.applyBalanceDelta(accountId, delta) == 0) {
+                throw concurrentBalanceChange("Account", accountId);
+            }
+        });
+        balances.creditCardDeltas().forEach((creditCardId, delta) -> {
+            if (delta.signum() != 0 && creditCardRepository.applyBalanceDelta(creditCardId, delta) == 0) {
+                throw concurrentBalanceChange("Credit Card", creditCardId);
+            }
+        });
+        balances.incomeAllocations().forEach((incomeId, amount) -> {
+            if (!incomeRepository.allocateAmount(balances.income(incomeId), amount)) {
+                throw concurrentBalanceChange("Income", incomeId);
+            }
+        });
+    }
+
+    private OptimisticLockException concurrentBalanceChange(String entityName, Long id) {
+        LOG.debugf("%s ID: %d was modified concurrently while applying a transaction batch", entityName, id);
+        return new OptimisticLockException(entityName + " ID: " + id + " was modified concurrently");
     }
 
     private boolean isValid(Object value) {
         return value != null;
     }
+
+    /**
+     * Applies the balance changes of a single transaction right away, each with its own conditional update.
+     */
+    private class ImmediateBalances implements TransactionBalances {
+
+        @Override
+        public void subtractFromAccount(Account account, BigDecimal amount) {
+            accountService.processSubtractAmount(account.id, amount);
+        }
+
+        @Override
+        public void addToAccount(Account account, BigDecimal amount) {
+            accountService.processAddAmount(account.id, amount);
+        }
+
+        @Override
+        public void addToCreditCard(CreditCard creditCard, BigDecimal amount) {
+            creditCardService.processAddAmount(creditCard.id, amount);
+        }
+
+        @Override
+        public void addPaymentToCreditCard(CreditCard creditCard, BigDecimal amount) {
+            creditCardService.processAddPayment(creditCard.id, amount);
+        }
+
+        @Override
+        public void allocateFromIncome(Income income, BigDecimal amount) {
+            if (!incomeRepository.allocateAmount(income, amount)) {
+                LOG.debugf("Amount %s exceeds the unallocated amount of Income ID: %d", amount, income.id);
+                throw new BadRequestException(getEntityName(), "amount", "exceeds the total income limit");
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package org.xpenbox.transaction.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.xpenbox.transaction.dto.UsageDelta;
+import org.xpenbox.transaction.repository.UsageCounterRepository;
+import org.xpenbox.transaction.service.IUsageCounterService;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Write-behind implementation of the IUsageCounterService interface. Committed usages are aggregated per entity in
+ * striped counters (LongAdder) and flushed periodically as relative updates, so creating a transaction never locks the
+ * row of a popular category, account or credit card. Usages not yet flushed are lost if the process crashes, so at most
+ * one flush window is lost. A failed flush keeps its usages pending for the next one, and until a flush succeeds new
+ * usages are written in the transaction that records them, so the buffer cannot grow while the database is failing;
+ * with write-behind disabled usages are always written that way.
+ */
+@ApplicationScoped
+public class UsageCounterServiceImpl implements IUsageCounterService {
+    private static final Logger LOG = Logger.getLogger(UsageCounterServiceImpl.class);
+
+    @ConfigProperty(name = "usage.counters.write-behind.enabled", defaultValue = "true")
+    private boolean writeBehindEnabled;
+
+    private final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+    private volatile Map<UsageKey, PendingUsage> pendingUsages = new ConcurrentHashMap<>();
+    private volatile boolean flushFailing;
+
+    private final UsageCounterRepository usageCounterRepository;
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    public UsageCounterServiceImpl(UsageCounterRepository usageCounterRepository, TransactionSynchronizationRegistry transactionSynchronizationRegistry) {
+        this.usageCounterRepository = usageCounterRepository;
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+    }
+
+    @Override
+    public void recordUsage(UsageTarget target, Long id, LocalDateTime usedDate) {
+        LOG.debugf("Recording usage of %s ID: %d", target, id);
+        record(new UsageKey(target, id), 1, usedDate);
+    }
+
+    @Override
+    public void revertUsage(UsageTarget target, Long id) {
+        LOG.debugf("Reverting usage of %s ID: %d", target, id);
+        record(new UsageKey(target, id), -1, null);
+    }
+
+    @Override
+    public int flush() {
+        Map<UsageKey, PendingUsage> drained = drain();
+        Map<UsageTarget, List<UsageDelta>> deltasByTarget = toDeltasByTarget(drained);
+        if (deltasByTarget.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            QuarkusTransaction.requiringNew().run(() -> deltasByTarget.forEach(usageCounterRepository::applyUsageDeltas));
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Failed to flush usage counters of %d entities, keeping them for the next flush", drained.size());
+            flushFailing = true;
+            drained.forEach((key, pendingUsage) -> buffer(key, pendingUsage.count.sum(), pendingUsage.lastUsedDate.get()));
+            return 0;
+        }
+
+        if (flushFailing) {
+            LOG.info("Usage counters flushed again, resuming write-behind");
+            flushFailing = false;
+        }
+
+        int flushed = deltasByTarget.values().stream().mapToInt(List::size).sum();
+        LOG.debugf("Flushed usage counters of %d entities", flushed);
+        return flushed;
+    }
+
+    /**
+     * Records a usage change once the current transaction commits, or right away when there is no transaction. With
+     * write-behind disabled, or while flushes are failing, the change is written in the current transaction instead.
+     * Changes recorded in a transaction that can no longer commit are ignored.
+     */
+    private void record(UsageKey key, long delta, LocalDateTime usedDate) {
+        int transactionStatus = transactionSynchronizationRegistry.getTransactionStatus();
+        if (transactionStatus != Status.STATUS_ACTIVE && transactionStatus != Status.STATUS_NO_TRANSACTION) {
+            LOG.debugf("Transaction will not commit (status %d), ignoring usage change of %s ID: %d", transactionStatus, key.target(), key.id());
+            return;
+        }
+
+        if (!writeBehindEnabled || flushFailing) {
+            List<UsageDelta> deltas = List.of(new UsageDelta(key.id(), delta, usedDate));
+            if (transactionStatus == Status.STATUS_NO_TRANSACTION) {
+                QuarkusTransaction.requiringNew().run(() -> usageCounterRepository.applyUsageDeltas(key.target(), deltas));
+            } else {
+                usageCounterRepository.applyUsageDeltas(key.target(), deltas);
+            }
+            return;
+        }
+
+        if (transactionStatus == Status.STATUS_NO_TRANSACTION) {
+            buffer(key, delta, usedDate);
+            return;
+        }
+
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() { }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    buffer(key, delta, usedDate);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds a usage change to the pending usages. Writers share the read lock, so they only wait while a flush swaps the buffer.
+     */
+    private void buffer(UsageKey key, long delta, LocalDateTime usedDate) {
+        bufferLock.readLock().lock();
+        try {
+            pendingUsages.computeIfAbsent(key, k -> new PendingUsage()).add(delta, usedDate);
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Swaps the pending usages for an empty buffer, so no writer can change the drained usages while they are flushed.
+     */
+    private Map<UsageKey, PendingUsage> drain() {
+        bufferLock.writeLock().lock();
+        try {
+            Map<UsageKey, PendingUsage> drained = pendingUsages;
+            pendingUsages = new ConcurrentHashMap<>();
+            return drained;
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+    }
+
+    private Map<UsageTarget, List<UsageDelta>> toDeltasByTarget(Map<UsageKey, PendingUsage> drained) {
+        Map<UsageTarget, List<UsageDelta>> deltasByTarget = new EnumMap<>(UsageTarget.class);
+        drained.forEach((key, pendingUsage) -> {
+            long delta = pendingUsage.count.sum();
+            LocalDateTime lastUsedDate = pendingUsage.lastUsedDate.get();
+            if (delta != 0 || lastUsedDate != null) {
+                deltasByTarget.computeIfAbsent(key.target(), target -> new ArrayList<>())
+                    .add(new UsageDelta(key.id(), delta, lastUsedDate));
+            }
+        });
+        return deltasByTarget;
+    }
+
+    private record UsageKey(UsageTarget target, Long id) { }
+
+    /**
+     * Usage changes of an entity not yet written to the database.
+     */
+    private static final class PendingUsage {
+        private final LongAdder count = new LongAdder();
+        private final AtomicReference<LocalDateTime> lastUsedDate = new AtomicReference<>();
+
+        private void add(long delta, LocalDateTime usedDate) {
+            count.add(delta);
+            if (usedDate != null) {
+                lastUsedDate.accumulateAndGet(usedDate, (current, candidate) -> current == null || candidate.isAfter(current) ? candidate : current);
+            }
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package org.xpenbox.user.entity;
 
+import org.xpenbox.common.repository.Tsid;
+
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
@@ -16,7 +16,7 @@ import jakarta.persistence.Table;
 public class User extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
     @Column(name = "email", unique = true, nullable = false, length = 250)
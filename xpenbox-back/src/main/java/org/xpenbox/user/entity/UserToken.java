@@ -2,13 +2,14 @@ package org.xpenbox.user.entity;
 
 import java.time.LocalDateTime;
 
+import org.xpenbox.common.repository.Tsid;
+
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -22,7 +23,7 @@ import jakarta.persistence.Table;
 public class UserToken extends PanacheEntityBase {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Tsid
     public Long id;
 
     @Column(name = "token", nullable = false, length = 250)
@@ -38,7 +39,7 @@ public class UserToken extends PanacheEntityBase {
     @Column(name = "used", nullable = false)
     private Boolean used = false;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -1,5 +1,6 @@
 package org.xpenbox.user.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.jboss.logging.Logger;
@@ -26,4 +27,19 @@ public class UserRepository implements PanacheRepository<User> {
         return find("email", email).firstResultOptional();
     }
 
+    /**
+     * Finds the IDs of the users following a given ID, in ID order, to walk through every user in bounded chunks.
+     *
+     * @param lastId the last ID of the previous chunk, or 0 for the first chunk
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the next chunk, empty when there are no more users
+     */
+    public List<Long> findIdsAfter(Long lastId, int limit) {
+        LOG.debugf("Finding %d user IDs after ID: %d", limit, lastId);
+        return getEntityManager().createQuery("SELECT u.id FROM User u WHERE u.id > :lastId ORDER BY u.id", Long.class)
+            .setParameter("lastId", lastId)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
 }
@@ -0,0 +1,28 @@
+package org.xpenbox.user.service;
+
+import java.util.Optional;
+
+import org.xpenbox.user.entity.User;
+
+/**
+ * Service interface for resolving the authenticated user of the current request.
+ */
+public interface IPrincipalService {
+
+    /**
+     * Resolves the id of the user with the given email, using the user id claim of the access token when it belongs to the same user.
+     *
+     * @param email the email of the user
+     * @return an Optional containing the user id if found, or empty if not found
+     */
+    Optional<Long> findUserIdByEmail(String email);
+
+    /**
+     * Resolves the user with the given email. The returned entity is a reference bound to the current persistence context,
+     * so its state is only loaded from the database when one of its fields other than the id is accessed.
+     *
+     * @param email the email of the user
+     * @return an Optional containing the User if found, or empty if not found
+     */
+    Optional<User> findUserByEmail(String email);
+}
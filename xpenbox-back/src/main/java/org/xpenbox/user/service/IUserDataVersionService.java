@@ -0,0 +1,24 @@
+package org.xpenbox.user.service;
+
+/**
+ * Service interface for tracking a per-user data version, bumped by every write that changes the financial data of a user.
+ * Readers use it to decide whether derived data (e.g. the dashboard) computed earlier is still current.
+ */
+public interface IUserDataVersionService {
+
+    /**
+     * Gets the current data version of a user.
+     *
+     * @param userId the ID of the user
+     * @return the current data version of the user
+     */
+    long getVersion(Long userId);
+
+    /**
+     * Bumps the data version of a user. When called inside a transaction, the version is bumped again once the
+     * transaction completes, so data read by a concurrent request before the commit is never considered current.
+     *
+     * @param userId the ID of the user
+     */
+    void bumpVersion(Long userId);
+}
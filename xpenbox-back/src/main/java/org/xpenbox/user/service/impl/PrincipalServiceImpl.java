@@ -0,0 +1,81 @@
+package org.xpenbox.user.service.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.jboss.logging.Logger;
+import org.xpenbox.authorization.constants.JwtClaimsConst;
+import org.xpenbox.user.entity.User;
+import org.xpenbox.user.repository.UserRepository;
+import org.xpenbox.user.service.IPrincipalService;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.json.JsonNumber;
+
+/**
+ * Request scoped implementation of IPrincipalService. The user id is taken from the access token when possible, and any
+ * id resolved by email is remembered for the rest of the request, so a request loads its user at most once. Only ids are
+ * kept between calls; entities are handed out as references of the current persistence context.
+ */
+@RequestScoped
+public class PrincipalServiceImpl implements IPrincipalService {
+    private static final Logger LOG = Logger.getLogger(PrincipalServiceImpl.class);
+
+    private final Map<String, Long> userIdsByEmail = new HashMap<>();
+
+    private final JsonWebToken jwt;
+    private final UserRepository userRepository;
+
+    public PrincipalServiceImpl(
+        JsonWebToken jwt,
+        UserRepository userRepository
+    ) {
+        this.jwt = jwt;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Optional<Long> findUserIdByEmail(String email) {
+        Long userId = userIdsByEmail.get(email);
+        if (userId != null) {
+            LOG.debugf("User id %d for email %s resolved from request cache", userId, email);
+            return Optional.of(userId);
+        }
+
+        userId = getUserIdFromToken(email);
+        if (userId == null) {
+            LOG.debugf("User id not present in access token for email %s, loading user", email);
+            userId = userRepository.findByEmail(email).map(user -> user.id).orElse(null);
+        }
+
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        userIdsByEmail.put(email, userId);
+        return Optional.of(userId);
+    }
+
+    @Override
+    public Optional<User> findUserByEmail(String email) {
+        return findUserIdByEmail(email)
+            .map(userId -> userRepository.getEntityManager().getReference(User.class, userId));
+    }
+
+    private Long getUserIdFromToken(String email) {
+        if (jwt == null || jwt.getSubject() == null || !jwt.getSubject().equals(email)) {
+            return null;
+        }
+
+        Object claim = jwt.getClaim(JwtClaimsConst.USER_ID);
+        if (claim instanceof JsonNumber jsonNumber) {
+            return jsonNumber.longValue();
+        }
+        if (claim instanceof Number number) {
+            return number.longValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package org.xpenbox.user.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+import org.xpenbox.user.service.IUserDataVersionService;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * In-memory implementation of the IUserDataVersionService interface. Versions start at the time the application
+ * started (in milliseconds), so a version handed out before a restart is never reused after it.
+ */
+@ApplicationScoped
+public class UserDataVersionServiceImpl implements IUserDataVersionService {
+    private static final Logger LOG = Logger.getLogger(UserDataVersionServiceImpl.class);
+
+    private final long initialVersion = System.currentTimeMillis();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    public UserDataVersionServiceImpl(TransactionSynchronizationRegistry transactionSynchronizationRegistry) {
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+    }
+
+    @Override
+    public long getVersion(Long userId) {
+        return versions.getOrDefault(userId, initialVersion);
+    }
+
+    @Override
+    public void bumpVersion(Long userId) {
+        LOG.debugf("Bumping data version for User ID: %d", userId);
+        increment(userId);
+
+        if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() { }
+
+                @Override
+                public void afterCompletion(int status) {
+                    increment(userId);
+                }
+            });
+        }
+    }
+
+    private void increment(Long userId) {
+        versions.merge(userId, initialVersion + 1, (current, ignored) -> current + 1);
+    }
+}
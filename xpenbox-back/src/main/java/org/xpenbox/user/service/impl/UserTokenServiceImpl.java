@@ -6,6 +6,7 @@ import java.util.UUID;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import org.mindrot.jbcrypt.BCrypt;
+import org.xpenbox.authorization.service.ITokenService;
 import org.xpenbox.common.DateFunctions;
 import org.xpenbox.email.service.IEmailService;
 import org.xpenbox.exception.BadRequestException;
@@ -40,15 +41,18 @@ public class UserTokenServiceImpl implements IUserTokenService {
     private final UserRepository userRepository;
     private final UserTokenRepository userTokenRepository;
     private final IEmailService emailService;
+    private final ITokenService tokenService;
 
     public UserTokenServiceImpl(
         UserRepository userRepository,
         UserTokenRepository userTokenRepository,
-        IEmailService emailService
+        IEmailService emailService,
+        ITokenService tokenService
     ) {
         this.userRepository = userRepository;
         this.userTokenRepository = userTokenRepository;
         this.emailService = emailService;
+        this.tokenService = tokenService;
     }
 
     @Override
@@ -144,6 +148,7 @@ public class UserTokenServiceImpl implements IUserTokenService {
 
         userRepository.persist(user);
         userTokenRepository.delete(userToken);
+        tokenService.revokeAllTokens(user);
 
         LOG.infof("Password reset successfully for user: %s", user.getEmail());
     }
@@ -261,3 +261,53 @@ CREATE INDEX idx_sub_payment_provider ON tbl_subscription_payment(provider_payme
 
 ALTER TABLE tbl_category ADD COLUMN budget DECIMAL(13,2) NOT NULL DEFAULT 0.00 AFTER usage_count;
 ALTER TABLE tbl_category ADD COLUMN has_budget TINYINT(1) NOT NULL DEFAULT 0 AFTER budget;
+
+ALTER TABLE tbl_token ADD COLUMN access_token_hash VARCHAR(64) NULL AFTER user_id;
+ALTER TABLE tbl_token ADD COLUMN refresh_token_hash VARCHAR(64) NULL AFTER access_token_hash;
+UPDATE tbl_token SET access_token_hash = SHA2(access_token, 256), refresh_token_hash = SHA2(refresh_token, 256);
+ALTER TABLE tbl_token MODIFY access_token_hash VARCHAR(64) NOT NULL;
+ALTER TABLE tbl_token MODIFY refresh_token_hash VARCHAR(64) NOT NULL;
+CREATE UNIQUE INDEX idx_token_access_token_hash ON tbl_token(access_token_hash);
+CREATE UNIQUE INDEX idx_token_refresh_token_hash ON tbl_token(refresh_token_hash);
+ALTER TABLE tbl_token DROP COLUMN access_token;
+ALTER TABLE tbl_token DROP COLUMN refresh_token;
+
+ALTER TABLE tbl_account ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER user_id;
+ALTER TABLE tbl_credit_card ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER user_id;
+ALTER TABLE tbl_category ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER user_id;
+ALTER TABLE tbl_subscription ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER user_id;
+
+CREATE TABLE IF NOT EXISTS tbl_transaction_monthly_rollup (
+    `id` BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    `user_id` BIGINT NOT NULL,
+    `period_month` DATE NOT NULL,
+    `transaction_type` ENUM('INCOME', 'EXPENSE', 'TRANSFER', 'CREDIT_PAYMENT') NOT NULL,
+    `category_id` BIGINT NOT NULL DEFAULT 0,
+    `funding_source` ENUM('ACCOUNT', 'CREDIT_CARD') NOT NULL,
+    `total_amount` DECIMAL(13,2) NOT NULL DEFAULT 0.00,
+    `transaction_count` BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_rollup_user FOREIGN KEY (user_id) REFERENCES tbl_user(id) ON DELETE CASCADE
+);
+CREATE UNIQUE INDEX idx_rollup_key ON tbl_transaction_monthly_rollup(user_id, period_month, transaction_type, category_id, funding_source);
+
+DROP INDEX idx_transaction_user_date ON tbl_transaction;
+CREATE INDEX idx_transaction_user_date_id ON tbl_transaction(user_id, transaction_date, id);
+
+CREATE FULLTEXT INDEX idx_transaction_description_ft ON tbl_transaction(description);
+
+ALTER TABLE tbl_income ADD COLUMN allocated_amount DECIMAL(13,2) NOT NULL DEFAULT 0.00 AFTER total_amount;
+UPDATE tbl_income i SET i.allocated_amount = COALESCE((SELECT SUM(t.amount) FROM tbl_transaction t WHERE t.income_id = i.id AND t.transaction_type = 'INCOME'), 0);
+
+CREATE TABLE IF NOT EXISTS tbl_idempotency_record (
+    `key_hash` VARCHAR(64) NOT NULL PRIMARY KEY,
+    `request_hash` VARCHAR(64) NOT NULL,
+    `status` ENUM('IN_PROGRESS', 'COMPLETED') NOT NULL,
+    `response_status` INT NULL,
+    `response_body` MEDIUMTEXT NULL,
+    `created_date` DATETIME NOT NULL,
+    `expires_at` DATETIME NOT NULL
+);
+CREATE INDEX idx_idempotency_record_expires_at ON tbl_idempotency_record(expires_at);
+
+ALTER TABLE tbl_idempotency_record ADD COLUMN owner_token VARCHAR(36) NOT NULL DEFAULT '' AFTER request_hash;
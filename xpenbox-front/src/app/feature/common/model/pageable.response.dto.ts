@@ -7,6 +7,8 @@
  * @content The array of items for the current page.
  * @clipped A boolean indicating whether the content is clipped (i.e., if there are more items available than the current page size).
  * @filter The filter used for the content, if applicable.
+ * @nextCursor Opaque cursor to request the next page with, or null if there are no more items.
+ * @hasNext Whether there is a next page, or null if the request was not paginated.
  * @param <T> The type of content in the pageable response.
  * @param <F> The type of filter used for the content, if applicable.
  */
@@ -18,4 +20,6 @@ export interface PageableResponseDTO<T, F> {
     content: T[];
     clipped: boolean;
     filter: F;
+    nextCursor?: string | null;
+    hasNext?: boolean | null;
 }
\ No newline at end of file
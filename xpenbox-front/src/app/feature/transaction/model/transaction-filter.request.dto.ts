@@ -16,6 +16,8 @@ export class TransactionFilterRequestDTO {
     creditCardResourceCode?: string;
     pageNumber?: number;
     pageSize?: number;
+    cursor?: string;
+    includeTotal?: boolean;
 
     /**
      * Creates an empty TransactionFilterRequestDTO instance.